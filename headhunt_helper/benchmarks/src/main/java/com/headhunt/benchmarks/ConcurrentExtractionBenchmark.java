@@ -0,0 +1,93 @@
+package com.headhunt.benchmarks;
+
+import com.headhunt.client.AnthropicClient;
+import com.headhunt.extraction.ExtractionCache;
+import com.headhunt.extraction.ExtractionMetrics;
+import com.headhunt.extraction.TextBlockSelector;
+import com.headhunt.model.JobApplication;
+import com.headhunt.service.JobExtractorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link JobExtractorService#extractJob} on many threads at once, with the model replaced by a
+ * stub that answers from the prompt. {@code JobExtractorServiceConcurrencyTest} checks that
+ * concurrent extractions keep their own fields; this only measures throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ConcurrentExtractionBenchmark {
+    private static final Pattern COMPANY = Pattern.compile("Company-(\\d+)");
+
+    private final AtomicLong nextPage = new AtomicLong();
+    private JobExtractorService extractor;
+
+    @Setup
+    public void setUp() {
+        extractor = newExtractor();
+    }
+
+    @Benchmark
+    public JobApplication extract() {
+        return extractor.extractJob(page(nextPage.getAndIncrement())).getApplication();
+    }
+
+    private static JobExtractorService newExtractor() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExtractionMetrics metrics = new ExtractionMetrics(registry, 0);
+        // The cache is disabled, so extraction never needs the repository or the application service
+        ExtractionCache cache = new ExtractionCache(null, registry, false, false, 0, 0, 0);
+        return new JobExtractorService(new EchoModelClient(metrics), null, cache, new TextBlockSelector(true, 4000),
+            SiteExtractionBenchmark.newChain(), metrics);
+    }
+
+    private static String page(long page) {
+        return """
+            <html><head><title>Position-%1$d at Company-%1$d</title></head>
+            <!-- EXTRACTED_URL: https://jobs.example.com/postings/%1$d -->
+            <body><h1>Position-%1$d</h1><p>Company-%1$d is hiring. Salary USD %1$d per year.</p></body></html>
+            """.formatted(page);
+    }
+
+    /** Answers with the company and position numbered like the first company in the prompt. */
+    private static final class EchoModelClient extends AnthropicClient {
+        EchoModelClient(ExtractionMetrics metrics) {
+            super(metrics, "http://localhost/unused", "unused", "unused", 1000, 1000, 0, 0, 0, 0, 0, 0, 1, 1);
+        }
+
+        @Override
+        public String complete(String prompt, boolean logPayload) {
+            Matcher matcher = COMPANY.matcher(prompt);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Prompt without a company: " + prompt);
+            }
+            // Widen the window in which another thread could overwrite shared state
+            Thread.yield();
+            String page = matcher.group(1);
+            return """
+                {"companyName": "Company-%1$s", "position": "Position-%1$s",
+                 "jobUrl": "https://model.example.com/%1$s", "notes": "Stub reply"}
+                """.formatted(page);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.headhunt.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Saved job pages under {@code src/main/resources/corpus}, each starting with the
+ * {@code EXTRACTED_URL} marker the Chrome script adds.
+ */
+final class Corpus {
+    private Corpus() {
+    }
+
+    static String load(String page) {
+        try (InputStream in = Corpus.class.getResourceAsStream("/corpus/" + page)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No corpus page named " + page);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.headhunt.benchmarks;
+
+import com.headhunt.model.JobApplication;
+import com.headhunt.service.CsvExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full rewrite of the CSV export ({@link CsvExportService#exportToCsv}) at different table sizes.
+ * Each invocation formats every row and writes the file, so single-shot timing is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvExportBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path directory;
+    private CsvExportService exportService;
+    private List<JobApplication> applications;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("csv-export-bench");
+        // The repository is only used for the startup export, which the benchmark never triggers
+        exportService = new CsvExportService(null, new SimpleMeterRegistry(),
+            directory.resolve("job_applications.csv").toString(), 1000, 60_000);
+        applications = SampleApplications.create(rows, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        exportService.shutdown();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void exportToCsv() {
+        exportService.exportToCsv(applications);
+    }
+}
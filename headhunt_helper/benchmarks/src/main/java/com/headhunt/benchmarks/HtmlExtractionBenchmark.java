@@ -0,0 +1,61 @@
+package com.headhunt.benchmarks;
+
+import com.headhunt.extraction.HtmlTextExtractor;
+import com.headhunt.extraction.TextBlockSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Visible-text extraction over the saved page corpus: the single-pass extractor used by
+ * {@code JobExtractorService.extractVisibleText} against the regex chain it replaced, and the
+ * extractor followed by prompt block selection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HtmlExtractionBenchmark {
+    private static final int VISIBLE_TEXT_MAX_LENGTH = 750000;
+    // Below the corpus pages' text length, so selection has to rank and drop blocks
+    private static final int SELECTION_TOKEN_BUDGET = 500;
+
+    @Param({"greenhouse.html", "lever.html", "workday.html", "linkedin.html"})
+    public String page;
+
+    private String html;
+    private TextBlockSelector selector;
+
+    @Setup
+    public void load() {
+        html = Corpus.load(page);
+        selector = new TextBlockSelector(true, SELECTION_TOKEN_BUDGET);
+    }
+
+    @Benchmark
+    public HtmlTextExtractor.Result singlePass() {
+        return HtmlTextExtractor.extract(html, VISIBLE_TEXT_MAX_LENGTH);
+    }
+
+    @Benchmark
+    public TextBlockSelector.Selection singlePassWithSelection() {
+        return selector.select(HtmlTextExtractor.extract(html, VISIBLE_TEXT_MAX_LENGTH, selector.markers()));
+    }
+
+    @Benchmark
+    public String regexBaseline() {
+        return RegexHtmlCleaner.extract(html);
+    }
+}
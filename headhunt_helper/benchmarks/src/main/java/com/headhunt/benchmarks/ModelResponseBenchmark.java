@@ -0,0 +1,48 @@
+package com.headhunt.benchmarks;
+
+import com.headhunt.extraction.ModelResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a typical model reply (JSON wrapped in prose) into the extracted field map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelResponseBenchmark {
+    private static final String RESPONSE = """
+        Here is the extracted job information:
+
+        {
+          "companyName": "Acme Robotics",
+          "position": "Senior Backend Engineer",
+          "jobUrl": "https://boards.greenhouse.io/acme/jobs/4012345",
+          "location": "Remote - US",
+          "salary": "$170,000 - $210,000",
+          "contactPerson": "Jordan Lee",
+          "contactEmail": "jordan.lee@example.com",
+          "notes": "Key qualifications: 6+ years building distributed backend services in Java or Go, strong SQL and data modelling, experience operating services on AWS. Responsibilities: own the order routing platform end to end, design APIs used by mobile and partner teams, mentor engineers and lead incident reviews. Benefits: remote-first, equity, 401(k) match, learning budget. Requirements: US work authorization, occasional travel to the Boston office."
+        }
+
+        Let me know if you need anything else.
+        """;
+
+    @Benchmark
+    public Map<String, Object> parse() {
+        return ModelResponseParser.parse(RESPONSE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.headhunt.benchmarks;
+
+/**
+ * The regex chain {@code JobExtractorService} used before {@code HtmlTextExtractor}, kept as a
+ * baseline for {@link HtmlExtractionBenchmark}.
+ */
+final class RegexHtmlCleaner {
+    private static final String URL_MARKER = "<!-- EXTRACTED_URL:";
+    private static final int MAX_CHARS = 750000;
+
+    private RegexHtmlCleaner() {
+    }
+
+    static String extract(String htmlContent) {
+        String sourceUrl = null;
+        int markerIndex = htmlContent.indexOf(URL_MARKER);
+        if (markerIndex >= 0) {
+            int startIndex = markerIndex + URL_MARKER.length();
+            int endIndex = htmlContent.indexOf("-->", startIndex);
+            if (endIndex > startIndex) {
+                sourceUrl = htmlContent.substring(startIndex, endIndex).trim();
+            }
+        }
+
+        String cleanedHtml = htmlContent.replaceAll("<script[^>]*>.*?</script>", "")
+                                      .replaceAll("<style[^>]*>.*?</style>", "")
+                                      .replaceAll("<!--.*?-->", "");
+        String visibleText = cleanedHtml.replaceAll("<[^>]*>", " ")
+                                      .replaceAll("\\s+", " ")
+                                      .trim();
+        if (visibleText.length() > MAX_CHARS) {
+            visibleText = visibleText.substring(0, MAX_CHARS);
+        }
+        return sourceUrl + "\n" + visibleText;
+    }
+}
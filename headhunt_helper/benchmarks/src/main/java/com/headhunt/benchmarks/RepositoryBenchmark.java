@@ -0,0 +1,124 @@
+package com.headhunt.benchmarks;
+
+import com.headhunt.HeadhuntHelperApplication;
+import com.headhunt.dto.ApplicationSummary;
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+import com.headhunt.repository.JobApplicationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The repository queries behind the list, page, status and lookup endpoints, run against an
+ * in-memory H2 database (MySQL mode) seeded with {@link #rows} applications. Application caches
+ * are disabled so every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private JobApplicationRepository repository;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String csvPath = Files.createTempDirectory("repository-bench").resolve("job_applications.csv").toString();
+        context = new SpringApplicationBuilder(HeadhuntHelperApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                // schema and indexes come from the Flyway migrations, as in production
+                "spring.jpa.hibernate.ddl-auto=none",
+                "headhunt.cache.enabled=false",
+                "headhunt.export.csv-path=" + csvPath,
+                "anthropic.api.key=benchmark",
+                "anthropic.api.model=benchmark",
+                "logging.level.root=WARN")
+            .run();
+        repository = context.getBean(JobApplicationRepository.class);
+
+        List<JobApplication> applications = SampleApplications.create(rows, false);
+        for (int from = 0; from < applications.size(); from += SEED_BATCH_SIZE) {
+            repository.saveAll(applications.subList(from, Math.min(from + SEED_BATCH_SIZE, applications.size())));
+        }
+        minId = repository.findAllByOrderByIdAsc(PageRequest.of(0, 1)).get(0).getId();
+        maxId = minId + rows - 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+
+    @Benchmark
+    public Optional<JobApplication> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<JobApplication> findByStatus() {
+        return repository.findByStatus(ApplicationStatus.INTERVIEWING);
+    }
+
+    @Benchmark
+    public List<JobApplication> findByCompanyName() {
+        return repository.findByCompanyNameContainingIgnoreCase("glob");
+    }
+
+    @Benchmark
+    public List<JobApplication> keysetPageById() {
+        return repository.findByIdGreaterThanOrderByIdAsc(randomId() - PAGE_SIZE, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<JobApplication> newestPageByAppliedTime() {
+        return repository.findAllByOrderByAppliedTimeDescIdDesc(PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<ApplicationSummary> summariesByStatus() {
+        return repository.findSummariesByStatus(ApplicationStatus.INTERVIEWING);
+    }
+
+    @Benchmark
+    public List<ApplicationSummary> summaryPageById() {
+        return repository.findSummaryPageAfterId(randomId() - PAGE_SIZE, PageRequest.of(0, PAGE_SIZE));
+    }
+}
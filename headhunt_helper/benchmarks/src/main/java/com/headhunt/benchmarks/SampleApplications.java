@@ -0,0 +1,45 @@
+package com.headhunt.benchmarks;
+
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic job applications with the field shapes seen in real captures, including
+ * values that need CSV quoting.
+ */
+final class SampleApplications {
+    private static final String[] COMPANIES = {"Acme Robotics", "Globex", "Initech", "Umbrella Corp", "Hooli, Inc."};
+    private static final String[] POSITIONS = {"Senior Backend Engineer", "Staff Data Engineer", "Platform Engineer", "Software Developer"};
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private SampleApplications() {
+    }
+
+    static List<JobApplication> create(int count, boolean withIds) {
+        List<JobApplication> applications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            JobApplication application = new JobApplication();
+            if (withIds) {
+                application.setId((long) i + 1);
+            }
+            application.setCompanyName(COMPANIES[i % COMPANIES.length]);
+            application.setPosition(POSITIONS[i % POSITIONS.length]);
+            application.setJobUrl("https://boards.example.com/jobs/" + i + "?ref=bench");
+            application.setJobWebsite("https://boards.example.com/jobs/" + i);
+            application.setStatus(STATUSES[i % STATUSES.length]);
+            application.setAppliedTime(START.plusMinutes(i));
+            application.setLocation(i % 3 == 0 ? "Remote" : "Berlin, Germany");
+            application.setSalary("$150,000 - $180,000");
+            application.setContactPerson("Jordan Lee");
+            application.setContactEmail("jordan.lee@example.com");
+            application.setNotes("Key qualifications: distributed systems, \"ownership\" mindset.\nBenefits: equity, remote.");
+            applications.add(application);
+        }
+        return applications;
+    }
+}
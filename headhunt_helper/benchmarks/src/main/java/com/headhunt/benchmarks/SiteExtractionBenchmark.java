@@ -0,0 +1,60 @@
+package com.headhunt.benchmarks;
+
+import com.headhunt.extraction.ExtractionMetrics;
+import com.headhunt.extraction.HtmlTextExtractor;
+import com.headhunt.extraction.site.JsonLdExtractor;
+import com.headhunt.extraction.site.OpenGraphExtractor;
+import com.headhunt.extraction.site.SiteExtractorChain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The structured-data extractor chain that runs before the model call, over fixture pages
+ * shared with {@code SiteExtractorChainTest} (which checks their extracted fields) and a larger
+ * corpus page that carries no structured data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SiteExtractionBenchmark {
+    @Param({"sites/greenhouse-jsonld.html", "sites/lever-opengraph.html", "sites/plain.html", "linkedin.html"})
+    public String page;
+
+    private String html;
+    private String sourceUrl;
+    private SiteExtractorChain chain;
+
+    @Setup
+    public void load() {
+        chain = newChain();
+        html = Corpus.load(page);
+        sourceUrl = HtmlTextExtractor.extract(html, 1).sourceUrl();
+    }
+
+    @Benchmark
+    public Optional<SiteExtractorChain.SiteExtraction> extract() {
+        return chain.extract(html, sourceUrl);
+    }
+
+    static SiteExtractorChain newChain() {
+        return new SiteExtractorChain(List.of(new JsonLdExtractor(), new OpenGraphExtractor()),
+            new ExtractionMetrics(new SimpleMeterRegistry(), 0), true);
+    }
+}
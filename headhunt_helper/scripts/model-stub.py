@@ -0,0 +1,92 @@
+#!/usr/bin/env python3
+"""Local stand-in for the Anthropic Messages API that injects faults.
+
+Start the server with -Danthropic.api.url=http://127.0.0.1:19090/v1/messages to point
+extraction at it. Every request gets a fixed extraction reply. The company name comes from a
+COMPANY=<name> token in the page text, if there is one. The fault options below make some
+requests fail or hang instead. They can also be changed while the stub runs:
+
+    curl -X POST localhost:19090/faults -d '{"fail_rate": 1.0, "fail_status": 529}'
+"""
+import argparse
+import json
+import random
+import re
+import threading
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+faults = {}
+lock = threading.Lock()
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_POST(self):
+        body = self.read_body()
+        if self.path == "/faults":
+            with lock:
+                faults.update(json.loads(body or b"{}"))
+                current = dict(faults)
+            return self.reply(200, current)
+
+        with lock:
+            config = dict(faults)
+        if random.random() < config["hang_rate"]:
+            time.sleep(config["hang_seconds"])
+        elif random.random() < config["fail_rate"]:
+            headers = {"retry-after": str(config["retry_after"])} if config["retry_after"] else {}
+            return self.reply(config["fail_status"], {"type": "error", "error": {"type": "injected"}}, headers)
+        time.sleep(config["delay"])
+
+        prompt = json.loads(body)["messages"][0]["content"]
+        match = re.search(r"COMPANY=(\w+)", prompt)
+        fields = {"companyName": match.group(1) if match else "Unknown", "position": "Engineer",
+                  "jobUrl": "Unknown", "location": "Remote", "notes": "Stub extraction"}
+        self.reply(200, {"content": [{"type": "text", "text": json.dumps(fields)}],
+                         "usage": {"input_tokens": len(prompt) // 4, "output_tokens": 50}})
+
+    def read_body(self):
+        if self.headers.get("Content-Length"):
+            return self.rfile.read(int(self.headers["Content-Length"]))
+        raw = b""
+        while True:
+            size = int(self.rfile.readline().strip(), 16)
+            if size == 0:
+                self.rfile.readline()
+                return raw
+            raw += self.rfile.read(size)
+            self.rfile.readline()
+
+    def reply(self, status, payload, headers=None):
+        out = json.dumps(payload).encode()
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(out)))
+        for name, value in (headers or {}).items():
+            self.send_header(name, value)
+        self.end_headers()
+        self.wfile.write(out)
+
+    def log_message(self, *args):
+        pass
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--port", type=int, default=19090)
+    parser.add_argument("--delay", type=float, default=0.5, help="seconds per successful reply")
+    parser.add_argument("--fail-rate", type=float, default=0.0, help="share of requests answered with --fail-status")
+    parser.add_argument("--fail-status", type=int, default=529)
+    parser.add_argument("--retry-after", type=int, default=0, help="retry-after seconds sent with failures (0: none)")
+    parser.add_argument("--hang-rate", type=float, default=0.0, help="share of requests that stall for --hang-seconds")
+    parser.add_argument("--hang-seconds", type=float, default=120.0)
+    args = parser.parse_args()
+    faults.update({key: value for key, value in vars(args).items() if key != "port"})
+    ThreadingHTTPServer.request_queue_size = 256
+    ThreadingHTTPServer(("127.0.0.1", args.port), Handler).serve_forever()
+
+
+if __name__ == "__main__":
+    main()
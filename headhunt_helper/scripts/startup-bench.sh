@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+# Compares cold start of the regular jar with the fast-start artifact (and the native executable,
+# if one was built). Each variant is started RUNS times; the table shows the median time from
+# launch to the first successful response on PROBE, and the process RSS right after it.
+#
+#   ./mvnw -Pfaststart package -DskipTests
+#   scripts/startup-bench.sh [RUNS]
+#
+# The application connects to the database configured through the usual environment variables
+# (SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME, ...). ANTHROPIC_API_KEY and
+# ANTHROPIC_API_MODEL default to placeholders; the probe does not call the model.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-18081}
+PROBE=${PROBE:-/api/applications/page?size=1}
+JAVA_OPTS=${JAVA_OPTS:-}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+export ANTHROPIC_API_KEY=${ANTHROPIC_API_KEY:-bench}
+export ANTHROPIC_API_MODEL=${ANTHROPIC_API_MODEL:-bench}
+
+work=$(mktemp -d)
+pid=
+cleanup() {
+    if [[ -n "$pid" ]]; then
+        kill "$pid" 2>/dev/null || true
+    fi
+    rm -rf "$work"
+}
+trap cleanup EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# Starts the command, waits for the probe to answer and prints "<ms to first response> <RSS in MB>"
+measure() {
+    local start elapsed rss
+    start=$(now_ms)
+    "$@" --server.port="$PORT" --headhunt.export.csv-path="$work/bench.csv" >"$work/app.log" 2>&1 &
+    pid=$!
+    while ! curl -fs -o /dev/null "http://127.0.0.1:$PORT$PROBE"; do
+        if ! kill -0 "$pid" 2>/dev/null || (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "Application did not answer $PROBE; last log lines:" >&2
+            tail -20 "$work/app.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(( $(ps -o rss= -p "$pid") / 1024 ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    pid=
+    echo "$elapsed $rss"
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local results=()
+    for ((i = 0; i < RUNS; i++)); do
+        results+=("$(measure "$@")")
+    done
+    printf '%-22s %10s ms %8s MB\n' "$name" \
+        "$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)" \
+        "$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)"
+}
+
+jar=$(ls target/*-exec.jar 2>/dev/null | head -1)
+faststart=$(ls target/faststart/*-faststart.jar 2>/dev/null | head -1)
+if [[ -z "$jar" || -z "$faststart" ]]; then
+    echo "Build both artifacts first: ./mvnw -Pfaststart package -DskipTests" >&2
+    exit 1
+fi
+
+printf '%-22s %13s %11s\n' "Variant ($RUNS runs)" "first request" "RSS"
+# shellcheck disable=SC2086
+run_variant "jar" java $JAVA_OPTS -jar "$jar"
+# shellcheck disable=SC2086
+run_variant "aot + lazy" java $JAVA_OPTS -Dspring.aot.enabled=true -Dspring.profiles.active=faststart \
+    -jar "$faststart"
+# shellcheck disable=SC2086
+run_variant "aot + lazy + cds" java $JAVA_OPTS -XX:SharedArchiveFile=target/faststart/application.jsa \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=faststart -jar "$faststart"
+if [[ -x target/headhunt-helper ]]; then
+    run_variant "native" target/headhunt-helper
+fi
@@ -0,0 +1,261 @@
+package com.headhunt.client;
+
+import com.headhunt.extraction.ExtractionMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls the Anthropic Messages API. Requests go through a pooled HTTP client with connect and
+ * read timeouts and are throttled by token buckets matched to the account's request and
+ * input-token quotas. Overload, rate-limit and 5xx responses as well as I/O errors are retried
+ * with exponential backoff and jitter (honouring {@code retry-after}), and a circuit breaker
+ * fails calls fast with {@link UpstreamUnavailableException} while upstream keeps failing.
+ */
+@Component
+public class AnthropicClient {
+    private static final Logger logger = LoggerFactory.getLogger(AnthropicClient.class);
+    private static final String API_VERSION = "2023-06-01";
+    private static final int MAX_TOKENS = 1000;
+    private static final double TEMPERATURE = 0.3;
+    // 529 is Anthropic's "overloaded"
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 429, 500, 502, 503, 504, 529);
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String apiUrl;
+    private final String apiKey;
+    private final String model;
+    private final RestTemplate restTemplate;
+    private final TokenBucket requestLimiter;
+    private final TokenBucket inputTokenLimiter;
+    private final long maxThrottleNanos;
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final ExtractionMetrics metrics;
+
+    @Autowired
+    public AnthropicClient(ExtractionMetrics metrics,
+                           // Overridable so tests can point extraction at a local stub server
+                           @Value("${anthropic.api.url:https://api.anthropic.com/v1/messages}") String apiUrl,
+                           @Value("${anthropic.api.key}") String apiKey,
+                           @Value("${anthropic.api.model}") String model,
+                           @Value("${anthropic.api.connect-timeout-ms:5000}") long connectTimeoutMillis,
+                           @Value("${anthropic.api.read-timeout-ms:60000}") long readTimeoutMillis,
+                           @Value("${anthropic.api.requests-per-minute:50}") long requestsPerMinute,
+                           @Value("${anthropic.api.input-tokens-per-minute:0}") long inputTokensPerMinute,
+                           @Value("${anthropic.api.max-throttle-ms:30000}") long maxThrottleMillis,
+                           @Value("${anthropic.api.max-retries:3}") int maxRetries,
+                           @Value("${anthropic.api.initial-backoff-ms:500}") long initialBackoffMillis,
+                           @Value("${anthropic.api.max-backoff-ms:8000}") long maxBackoffMillis,
+                           @Value("${anthropic.api.circuit.failure-threshold:5}") int failureThreshold,
+                           @Value("${anthropic.api.circuit.open-seconds:30}") long openSeconds) {
+        this.metrics = metrics;
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.model = model;
+        // The JDK client keeps idle connections alive and reuses them across requests
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.requestLimiter = requestsPerMinute > 0 ? new TokenBucket(requestsPerMinute, Duration.ofMinutes(1)) : null;
+        this.inputTokenLimiter = inputTokensPerMinute > 0 ? new TokenBucket(inputTokensPerMinute, Duration.ofMinutes(1)) : null;
+        this.maxThrottleNanos = TimeUnit.MILLISECONDS.toNanos(maxThrottleMillis);
+        this.maxRetries = maxRetries;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofSeconds(openSeconds));
+        metrics.registerCircuitState(() -> circuitBreaker.state().ordinal());
+    }
+
+    /**
+     * Sends a single-turn prompt and returns the text of the model's reply.
+     *
+     * @throws UpstreamUnavailableException if the call should be retried later
+     * @throws RuntimeException if the call failed for good
+     */
+    public String complete(String prompt, boolean logPayload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("x-api-key", apiKey);
+        headers.set("anthropic-version", API_VERSION);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("max_tokens", MAX_TOKENS);
+        requestBody.put("temperature", TEMPERATURE);
+        requestBody.put("messages", new Object[]{
+            Map.of("role", "user", "content", prompt)
+        });
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+
+        logger.debug("Sending request to Claude API with model: {}", model);
+        if (logPayload) {
+            logger.debug("Sending prompt to Claude API: {}", ExtractionMetrics.preview(prompt));
+        }
+        Map responseBody = exchangeWithRetries(request, prompt.length() / CHARS_PER_TOKEN);
+        return readContent(responseBody, logPayload);
+    }
+
+    private Map exchangeWithRetries(HttpEntity<Map<String, Object>> request, long estimatedInputTokens) {
+        for (int attempt = 0; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                metrics.recordUpstreamError("circuit_open");
+                throw new UpstreamUnavailableException("Claude API circuit is open",
+                    atLeastMinimum(circuitBreaker.remainingOpen()));
+            }
+            try {
+                throttle(estimatedInputTokens);
+            } catch (RuntimeException e) {
+                circuitBreaker.release();
+                throw e;
+            }
+
+            Duration retryAfter = null;
+            RuntimeException failure;
+            try {
+                ResponseEntity<Map> response = restTemplate.exchange(apiUrl, HttpMethod.POST, request, Map.class);
+                circuitBreaker.onSuccess();
+                return response.getBody();
+            } catch (HttpStatusCodeException e) {
+                int status = e.getStatusCode().value();
+                metrics.recordUpstreamError(String.valueOf(status));
+                if (!RETRYABLE_STATUSES.contains(status)) {
+                    // Upstream answered; the request itself is at fault
+                    circuitBreaker.onSuccess();
+                    logger.error("Claude API returned {}: {}", status, e.getMessage());
+                    throw new RuntimeException("Failed to call Claude API: " + e.getMessage());
+                }
+                retryAfter = parseRetryAfter(e.getResponseHeaders());
+                failure = e;
+            } catch (ResourceAccessException e) {
+                metrics.recordUpstreamError("io");
+                failure = e;
+            }
+            circuitBreaker.onFailure();
+
+            Duration backoff = backoff(attempt, retryAfter);
+            if (backoff.toMillis() > maxBackoffMillis) {
+                logger.warn("Claude API asked to retry after {}s: {}", backoff.toSeconds(), failure.getMessage());
+                throw new UpstreamUnavailableException("Claude API is rate limited: " + failure.getMessage(), backoff);
+            }
+            if (attempt >= maxRetries) {
+                logger.error("Claude API call failed after {} attempts: {}", attempt + 1, failure.getMessage());
+                throw new UpstreamUnavailableException("Failed to call Claude API: " + failure.getMessage(),
+                    atLeastMinimum(backoff));
+            }
+            logger.warn("Claude API call failed ({}), retry {} of {} in {} ms",
+                failure.getMessage(), attempt + 1, maxRetries, backoff.toMillis());
+            metrics.recordUpstreamRetry();
+            sleep(backoff.toNanos());
+        }
+    }
+
+    private void throttle(long estimatedInputTokens) {
+        long waitNanos = reserve(requestLimiter, 1);
+        if (inputTokenLimiter != null) {
+            waitNanos = Math.max(waitNanos, reserve(inputTokenLimiter, Math.max(1, estimatedInputTokens)));
+        }
+        if (waitNanos > 0) {
+            metrics.recordThrottle(waitNanos);
+            sleep(waitNanos);
+        }
+    }
+
+    private long reserve(TokenBucket limiter, long tokens) {
+        if (limiter == null) {
+            return 0;
+        }
+        long waitNanos = limiter.reserve(tokens, maxThrottleNanos);
+        if (waitNanos < 0) {
+            metrics.recordUpstreamError("throttled");
+            throw new UpstreamUnavailableException("Claude API rate limit reached",
+                atLeastMinimum(Duration.ofNanos(maxThrottleNanos)));
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the capped delay plus a random share of the
+     * other half, so concurrent callers spread out but still wait a minimum. An explicit
+     * {@code retry-after} from upstream takes precedence.
+     */
+    private Duration backoff(int attempt, Duration retryAfter) {
+        if (retryAfter != null) {
+            return retryAfter;
+        }
+        long cap = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt, 20));
+        long half = cap / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private static Duration parseRetryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Duration atLeastMinimum(Duration retryAfter) {
+        return retryAfter.compareTo(MIN_RETRY_AFTER) < 0 ? MIN_RETRY_AFTER : retryAfter;
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to call Claude API", e);
+        }
+    }
+
+    private String readContent(Map responseBody, boolean logPayload) {
+        try {
+            if (responseBody != null && responseBody.get("usage") instanceof Map usage) {
+                metrics.recordTokens((Number) usage.get("input_tokens"), (Number) usage.get("output_tokens"));
+            }
+            if (responseBody != null && responseBody.containsKey("content")) {
+                String content = ((String) ((Map) ((List) responseBody.get("content")).get(0)).get("text"));
+                if (logPayload) {
+                    logger.debug("Received response from Claude API: {}", content);
+                }
+                return content;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Unexpected response shape from Claude API: {}", e.getMessage());
+        }
+        metrics.recordUpstreamError("invalid_response");
+        logger.error("Invalid response from Claude API: {}", responseBody);
+        throw new RuntimeException("Failed to get response from Claude API");
+    }
+}
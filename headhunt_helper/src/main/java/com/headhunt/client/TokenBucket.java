@@ -0,0 +1,41 @@
+package com.headhunt.client;
+
+import java.time.Duration;
+
+/**
+ * Token bucket that refills continuously at {@code capacity} tokens per {@code period} and starts
+ * full. Callers reserve tokens up front and sleep for the returned delay, so waiting callers are
+ * served in arrival order and a burst never exceeds the configured quota.
+ */
+final class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double available;
+    private long lastRefill;
+
+    TokenBucket(long capacity, Duration period) {
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / (double) period.toNanos();
+        this.available = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes {@code tokens} (at most a full bucket) and returns how long the caller must wait
+     * before using them, or -1 without taking anything if that wait would exceed
+     * {@code maxWaitNanos}.
+     */
+    synchronized long reserve(long tokens, long maxWaitNanos) {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+
+        double needed = Math.min(tokens, capacity);
+        long waitNanos = available >= needed ? 0 : (long) Math.ceil((needed - available) / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        available -= needed;
+        return waitNanos;
+    }
+}
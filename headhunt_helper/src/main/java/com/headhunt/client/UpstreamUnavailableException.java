@@ -0,0 +1,21 @@
+package com.headhunt.client;
+
+import java.time.Duration;
+
+/**
+ * The model API cannot serve the request right now: the circuit breaker is open, the rate limit
+ * would not admit the call in time, or upstream asked us to back off for longer than a retry
+ * may wait. The same request can be submitted again after {@link #getRetryAfter()}.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
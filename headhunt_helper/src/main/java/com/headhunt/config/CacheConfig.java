@@ -0,0 +1,32 @@
+package com.headhunt.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches in front of {@link com.headhunt.repository.JobApplicationRepository}.
+ * Set {@code headhunt.cache.enabled=false} to turn them off; the {@code @Cacheable}
+ * annotations are then inert and every read goes to the database. Hit, miss and eviction
+ * counts are published by Actuator as {@code cache.gets} and {@code cache.evictions}.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "headhunt.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+    public static final String APPLICATIONS_BY_ID = "applicationsById";
+    public static final String APPLICATIONS_BY_STATUS = "applicationsByStatus";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${headhunt.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(APPLICATIONS_BY_ID, APPLICATIONS_BY_STATUS);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
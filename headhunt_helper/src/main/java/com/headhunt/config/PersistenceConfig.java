@@ -0,0 +1,35 @@
+package com.headhunt.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Enables JDBC batching so saveAll() on many applications goes out as a few batched INSERTs
+     * instead of one round-trip per row.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${headhunt.persistence.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    /**
+     * Databases created by ddl-auto before migrations existed already contain the V1 schema;
+     * record them at version 1 on first start instead of failing on a non-empty schema.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchemaCustomizer() {
+        return configuration -> configuration.baselineOnMigrate(true).baselineVersion("1");
+    }
+}
@@ -0,0 +1,27 @@
+package com.headhunt.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.io.IOException;
+
+/**
+ * Clients that drop a change feed, stream or export connection mid-response. The response is
+ * already committed, so there is nothing to send back; this also covers the error dispatch the
+ * container makes when an async (server-sent event) connection breaks.
+ */
+@ControllerAdvice
+public class ClientDisconnectAdvice {
+    private static final Logger logger = LoggerFactory.getLogger(ClientDisconnectAdvice.class);
+
+    @ExceptionHandler(IOException.class)
+    public void handleDisconnect(IOException e, HttpServletResponse response) throws IOException {
+        if (!response.isCommitted()) {
+            throw e;
+        }
+        logger.debug("Client disconnected: {}", e.getMessage());
+    }
+}
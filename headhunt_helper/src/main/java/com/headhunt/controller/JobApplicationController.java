@@ -1,18 +1,58 @@
 package com.headhunt.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.headhunt.client.UpstreamUnavailableException;
+import com.headhunt.dto.ApplicationStats;
+import com.headhunt.dto.ApplicationSummary;
+import com.headhunt.dto.CursorPage;
+import com.headhunt.dto.DedupeReport;
+import com.headhunt.dto.ExtractionJob;
+import com.headhunt.events.ChangeFeed;
 import com.headhunt.model.JobApplication;
 import com.headhunt.model.ApplicationStatus;
+import com.headhunt.service.BulkIngestionService;
+import com.headhunt.service.DedupeService;
+import com.headhunt.service.ExtractionJobService;
 import com.headhunt.service.JobApplicationService;
 import com.headhunt.service.JobExtractorService;
+import com.headhunt.service.StatsService;
+import com.headhunt.util.CsvFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/applications")
@@ -20,22 +60,48 @@ import java.util.Map;
     RequestMethod.GET,
     RequestMethod.POST,
     RequestMethod.PUT,
+    RequestMethod.PATCH,
     RequestMethod.DELETE
 }, allowedHeaders = {
     "Content-Type",
     "Authorization",
-    "X-Requested-With"
+    "X-Requested-With",
+    "If-Match",
+    "Last-Event-ID"
+}, exposedHeaders = {
+    "ETag"
 })
 public class JobApplicationController {
     private static final Logger logger = LoggerFactory.getLogger(JobApplicationController.class);
 
     private final JobApplicationService service;
     private final JobExtractorService jobExtractorService;
+    private final ExtractionJobService extractionJobService;
+    private final BulkIngestionService bulkIngestionService;
+    private final StatsService statsService;
+    private final DedupeService dedupeService;
+    private final ChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+    private static final String EXPORT_FORMAT_CSV = "csv";
+    private static final String EXPORT_FORMAT_NDJSON = "ndjson";
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
 
     @Autowired
-    public JobApplicationController(JobApplicationService service, JobExtractorService jobExtractorService) {
+    public JobApplicationController(JobApplicationService service, JobExtractorService jobExtractorService,
+                                    ExtractionJobService extractionJobService, BulkIngestionService bulkIngestionService,
+                                    StatsService statsService, DedupeService dedupeService,
+                                    ChangeFeed changeFeed, ObjectMapper objectMapper) {
         this.service = service;
         this.jobExtractorService = jobExtractorService;
+        this.extractionJobService = extractionJobService;
+        this.bulkIngestionService = bulkIngestionService;
+        this.statsService = statsService;
+        this.dedupeService = dedupeService;
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -44,11 +110,150 @@ public class JobApplicationController {
         return service.getAllApplications();
     }
 
+    @GetMapping("/stats")
+    public ApplicationStats getStats() {
+        logger.debug("Received GET request for application stats");
+        return statsService.getStats();
+    }
+
+    @PostMapping("/dedupe")
+    public DedupeReport cleanupDuplicates(@RequestParam(defaultValue = "true") boolean dryRun) {
+        logger.info("Received POST request to clean up duplicate applications, dry run: {}", dryRun);
+        return dedupeService.cleanup(dryRun);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<JobApplication>> getApplicationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = JobApplicationService.SORT_BY_ID) String sort) {
+        logger.debug("Received GET request for applications page, cursor: {}, size: {}, sort: {}", cursor, size, sort);
+        try {
+            return ResponseEntity.ok(service.getApplicationsPage(cursor, size, sort));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected applications page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/summary")
+    public List<ApplicationSummary> getSummaries(@RequestParam(required = false) ApplicationStatus status) {
+        logger.debug("Received GET request for application summaries, status: {}", status);
+        return service.getSummaries(status);
+    }
+
+    @GetMapping("/summary/page")
+    public ResponseEntity<CursorPage<ApplicationSummary>> getSummaryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = JobApplicationService.SORT_BY_ID) String sort) {
+        logger.debug("Received GET request for summary page, cursor: {}, size: {}, sort: {}", cursor, size, sort);
+        try {
+            return ResponseEntity.ok(service.getSummaryPage(cursor, size, sort));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected summary page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON_CONTENT_TYPE)
+    public void streamApplications(HttpServletResponse response) throws IOException {
+        logger.debug("Received GET request to stream all applications");
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        int[] written = {0};
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            service.streamApplications(application -> {
+                try {
+                    writer.write(application);
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (written[0] > 0) {
+                response.getOutputStream().write('\n');
+            }
+        }
+    }
+
+    /**
+     * Server-sent events for every create, update and delete ({@code created}, {@code updated},
+     * {@code deleted}). Browsers reconnect with {@code Last-Event-ID} on their own; clients that
+     * cannot set the header pass {@code lastEventId} instead.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        logger.debug("Received GET request for the change feed, resuming after: {}", resumeFrom);
+        return changeFeed.subscribe(resumeFrom);
+    }
+
+    /**
+     * Streams applications matching the optional status and {@code appliedTime} date filters
+     * ({@code from}/{@code to} inclusive) as CSV or NDJSON, straight from a database cursor.
+     * The body is gzip-encoded when the client accepts it.
+     */
+    @GetMapping("/export")
+    public void exportApplications(
+            @RequestParam(defaultValue = EXPORT_FORMAT_CSV) String format,
+            @RequestParam(required = false) ApplicationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        logger.debug("Received GET request to export applications, format: {}, status: {}, from: {}, to: {}",
+            format, status, from, to);
+        boolean csv = EXPORT_FORMAT_CSV.equalsIgnoreCase(format);
+        if (!csv && !EXPORT_FORMAT_NDJSON.equalsIgnoreCase(format)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unsupported export format: " + format);
+            return;
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : NDJSON_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"job_applications." + (csv ? "csv" : "ndjson") + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream body = gzip ? new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE) : response.getOutputStream();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE)) {
+            if (csv) {
+                writer.write(CsvFormat.HEADER);
+            }
+            ObjectWriter jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            service.exportApplications(status,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                application -> {
+                    try {
+                        if (csv) {
+                            CsvFormat.appendRow(writer, application);
+                        } else {
+                            jsonWriter.writeValue(writer, application);
+                            writer.write('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<JobApplication> getApplicationById(@PathVariable Long id) {
         logger.debug("Received GET request for application with ID: {}", id);
         return service.getApplicationById(id)
-                .map(ResponseEntity::ok)
+                .map(application -> ResponseEntity.ok().eTag(etag(application)).body(application))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -61,17 +266,87 @@ public class JobApplicationController {
     @PutMapping("/{id}")
     public ResponseEntity<JobApplication> updateApplication(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody JobApplication application) {
         logger.debug("Received PUT request to update application with ID: {}, data: {}", id, application);
         try {
+            Long expectedVersion = parseIfMatch(ifMatch);
+            if (expectedVersion != null) {
+                application.setVersion(expectedVersion);
+            }
             JobApplication updated = service.updateApplication(id, application);
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok().eTag(etag(updated)).body(updated);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+            throw e;
         } catch (RuntimeException e) {
             logger.error("Failed to update application with ID: {}", id, e);
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Changes only the fields present in the body, e.g. {@code {"status": "INTERVIEWING"}}. The
+     * expected version comes from {@code If-Match} or a {@code version} field; a stale version
+     * gets a 409 with nothing written.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchApplication(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> changes) {
+        logger.debug("Received PATCH request for application with ID: {}, changes: {}", id, changes);
+        try {
+            Map<String, Object> fields = new HashMap<>(changes);
+            Object bodyVersion = fields.remove("version");
+            Long expectedVersion = parseIfMatch(ifMatch);
+            if (expectedVersion == null && bodyVersion != null) {
+                expectedVersion = Long.valueOf(bodyVersion.toString());
+            }
+            return service.patchApplication(id, fields, expectedVersion)
+                .<ResponseEntity<?>>map(updated -> ResponseEntity.ok().eTag(etag(updated)).body(updated))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected PATCH for application with ID: {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /** Lost optimistic-lock races and writes that collide with another row's unique job URL. */
+    @ExceptionHandler({OptimisticLockingFailureException.class, DataIntegrityViolationException.class})
+    public ResponseEntity<Map<String, String>> handleConflict(RuntimeException e) {
+        logger.info("Rejected conflicting write: {}", e.getMessage());
+        String message = e instanceof OptimisticLockingFailureException
+            ? "Application was modified concurrently; reload it and retry"
+            : "Application conflicts with an existing one";
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("error", message));
+    }
+
+    private static String etag(JobApplication application) {
+        return "\"" + application.getVersion() + "\"";
+    }
+
+    /** Version from an {@code If-Match: "3"} header; null when absent or {@code *}. */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match: " + ifMatch);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteApplication(@PathVariable Long id) {
         logger.debug("Received DELETE request for application with ID: {}", id);
@@ -79,6 +354,13 @@ public class JobApplicationController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/search")
+    public List<JobApplication> search(@RequestParam("q") String query,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        logger.debug("Received GET request to search applications: {}", query);
+        return service.search(query, limit);
+    }
+
     @GetMapping("/search/company")
     public List<JobApplication> searchByCompany(@RequestParam String companyName) {
         logger.debug("Received GET request to search by company name: {}", companyName);
@@ -106,6 +388,12 @@ public class JobApplicationController {
             return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(extractedData);
+        } catch (UpstreamUnavailableException e) {
+            logger.warn("Model API unavailable, rejecting HTML submission: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error processing HTML content", e);
             return ResponseEntity.badRequest()
@@ -113,4 +401,96 @@ public class JobApplicationController {
                 .body(Map.of("error", "Error processing HTML: " + e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/html/async")
+    public ResponseEntity<?> submitHtmlContent(@RequestBody String htmlContent) {
+        logger.debug("Received POST request to queue HTML content, length: {}", htmlContent.length());
+        try {
+            ExtractionJob job = extractionJobService.submit(htmlContent);
+            return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/applications/html/jobs/" + job.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(job);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Extraction queue full, rejecting HTML submission");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", "Extraction queue is full, retry later"));
+        }
+    }
+
+    @GetMapping("/html/jobs/{jobId}")
+    public ResponseEntity<ExtractionJob> getExtractionJob(@PathVariable String jobId) {
+        logger.debug("Received GET request for extraction job: {}", jobId);
+        return extractionJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Bulk capture as NDJSON: one page per line, either a JSON object with an {@code html}
+     * field (the Chrome script payload) or a bare JSON string. Lines are read lazily.
+     */
+    @PostMapping(value = "/html/bulk", consumes = NDJSON_CONTENT_TYPE)
+    public List<Map<String, Object>> processHtmlBulk(HttpServletRequest request) throws IOException {
+        logger.debug("Received POST request for NDJSON bulk HTML ingestion");
+        BufferedReader reader = request.getReader();
+        Iterator<String> pages = new Iterator<>() {
+            private String next = readNextPage();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                String page = next;
+                next = readNextPage();
+                return page;
+            }
+
+            private String readNextPage() {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            JsonNode node = objectMapper.readTree(line);
+                            return node.isTextual() ? node.asText() : node.path("html").asText();
+                        }
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return bulkIngestionService.ingest(pages);
+    }
+
+    @PostMapping(value = "/html/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public List<Map<String, Object>> processHtmlBulkFiles(@RequestParam("files") List<MultipartFile> files) {
+        logger.debug("Received POST request for multipart bulk HTML ingestion, {} files", files.size());
+        Iterator<MultipartFile> fileIterator = files.iterator();
+        Iterator<String> pages = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return fileIterator.hasNext();
+            }
+
+            @Override
+            public String next() {
+                try {
+                    return new String(fileIterator.next().getBytes(), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return bulkIngestionService.ingest(pages);
+    }
+}
@@ -0,0 +1,49 @@
+package com.headhunt.dedupe;
+
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Folds a duplicate application into the one being kept: fields the kept application is
+ * missing are taken from the duplicate, and a status further along the pipeline wins over
+ * {@code APPLIED}. Everything the kept application already has is left alone.
+ */
+public final class ApplicationMerger {
+    // Values the extractor stores when it could not find a field
+    private static final Set<String> MISSING_VALUES = Set.of("", "unknown", "null");
+
+    private ApplicationMerger() {
+    }
+
+    /** Returns a merged copy of {@code kept}; neither argument is modified. */
+    public static JobApplication merge(JobApplication kept, JobApplication duplicate) {
+        JobApplication merged = kept.copy();
+        merged.setCompanyName(pick(kept.getCompanyName(), duplicate.getCompanyName()));
+        merged.setPosition(pick(kept.getPosition(), duplicate.getPosition()));
+        merged.setJobUrl(pick(kept.getJobUrl(), duplicate.getJobUrl()));
+        merged.setJobWebsite(pick(kept.getJobWebsite(), duplicate.getJobWebsite()));
+        merged.setLocation(pick(kept.getLocation(), duplicate.getLocation()));
+        merged.setSalary(pick(kept.getSalary(), duplicate.getSalary()));
+        merged.setContactPerson(pick(kept.getContactPerson(), duplicate.getContactPerson()));
+        merged.setContactEmail(pick(kept.getContactEmail(), duplicate.getContactEmail()));
+        merged.setNotes(pick(kept.getNotes(), duplicate.getNotes()));
+        if (merged.getAppliedDate() == null) {
+            merged.setAppliedDate(duplicate.getAppliedDate());
+        }
+        if (kept.getStatus() == ApplicationStatus.APPLIED && duplicate.getStatus() != null) {
+            merged.setStatus(duplicate.getStatus());
+        }
+        return merged;
+    }
+
+    private static String pick(String kept, String duplicate) {
+        return isMissing(kept) && !isMissing(duplicate) ? duplicate : kept;
+    }
+
+    private static boolean isMissing(String value) {
+        return value == null || MISSING_VALUES.contains(value.trim().toLowerCase(Locale.ROOT));
+    }
+}
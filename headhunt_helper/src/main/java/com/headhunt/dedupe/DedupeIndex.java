@@ -0,0 +1,164 @@
+package com.headhunt.dedupe;
+
+import com.headhunt.model.JobApplication;
+import com.headhunt.storage.ApplicationStore;
+import com.headhunt.util.UrlNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory duplicate detection for job applications. Exact duplicates are found through a
+ * map from normalized-URL key to id (O(1)); near duplicates through a {@link MinHashIndex} over
+ * company and position, which only compares against ids sharing an LSH bucket. Exact URL
+ * duplicates are always merged, since the {@code jobUrlKey} unique index would reject them;
+ * what happens to fuzzy ones is set by {@code headhunt.dedupe.fuzzy-action}.
+ *
+ * <p>Kept current by {@link com.headhunt.service.JobApplicationService} and rebuilt from the
+ * database at startup.
+ */
+@Component
+public class DedupeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DedupeIndex.class);
+    private static final String UNKNOWN = "unknown";
+    public static final int REBUILD_ORDER = 0;
+
+    public enum FuzzyAction {
+        MERGE, FLAG, IGNORE
+    }
+
+    private final ApplicationStore store;
+    private final boolean enabled;
+    private final FuzzyAction fuzzyAction;
+    private final double similarityThreshold;
+
+    // Guarded by "this"
+    private final Map<String, Long> idsByUrlKey = new HashMap<>();
+    private final Map<Long, String> urlKeysById = new HashMap<>();
+    private final MinHashIndex fuzzyIndex = new MinHashIndex();
+
+    @Autowired
+    public DedupeIndex(ApplicationStore store,
+                       @Value("${headhunt.dedupe.enabled:true}") boolean enabled,
+                       @Value("${headhunt.dedupe.fuzzy-action:flag}") String fuzzyAction,
+                       @Value("${headhunt.dedupe.similarity-threshold:0.8}") double similarityThreshold) {
+        this.store = store;
+        this.enabled = enabled;
+        this.fuzzyAction = FuzzyAction.valueOf(fuzzyAction.trim().toUpperCase(Locale.ROOT));
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(REBUILD_ORDER)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<JobApplication> applications = store.findAll();
+        synchronized (this) {
+            idsByUrlKey.clear();
+            urlKeysById.clear();
+            fuzzyIndex.clear();
+            for (JobApplication application : applications) {
+                addInternal(application);
+            }
+        }
+        logger.info("Dedupe index built with {} URLs and {} fuzzy keys in {} ms",
+            idsByUrlKey.size(), fuzzyIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public FuzzyAction getFuzzyAction() {
+        return fuzzyAction;
+    }
+
+    public double getSimilarityThreshold() {
+        return similarityThreshold;
+    }
+
+    /** Finds an existing application the given one duplicates, ignoring the application itself. */
+    public synchronized Optional<DuplicateMatch> findDuplicate(JobApplication application) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long selfId = application.getId() == null ? Long.MIN_VALUE : application.getId();
+        String urlKey = UrlNormalizer.key(application.getJobUrl());
+        Long urlMatch = urlKey == null ? null : idsByUrlKey.get(urlKey);
+        if (urlMatch != null && urlMatch != selfId) {
+            return Optional.of(new DuplicateMatch(urlMatch, DuplicateMatch.Reason.URL, 1.0, DuplicateMatch.Action.MERGE));
+        }
+        if (fuzzyAction == FuzzyAction.IGNORE) {
+            return Optional.empty();
+        }
+        String text = fuzzyText(application);
+        if (text == null) {
+            return Optional.empty();
+        }
+        return fuzzyIndex.findSimilar(text, similarityThreshold, selfId)
+            .map(match -> new DuplicateMatch(match.id(), DuplicateMatch.Reason.FUZZY, match.similarity(),
+                fuzzyAction == FuzzyAction.MERGE ? DuplicateMatch.Action.MERGE : DuplicateMatch.Action.FLAG));
+    }
+
+    public synchronized void add(JobApplication application) {
+        if (enabled && application.getId() != null) {
+            addInternal(application);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        if (enabled && id != null) {
+            removeInternal(id);
+        }
+    }
+
+    private void addInternal(JobApplication application) {
+        removeInternal(application.getId());
+        String urlKey = UrlNormalizer.key(application.getJobUrl());
+        if (urlKey != null) {
+            // The oldest application owns a URL; later ones are duplicates awaiting cleanup
+            idsByUrlKey.merge(urlKey, application.getId(), Math::min);
+            urlKeysById.put(application.getId(), urlKey);
+        }
+        String text = fuzzyText(application);
+        if (text != null) {
+            fuzzyIndex.add(application.getId(), text);
+        }
+    }
+
+    private void removeInternal(Long id) {
+        String urlKey = urlKeysById.remove(id);
+        if (urlKey != null) {
+            idsByUrlKey.remove(urlKey, id);
+        }
+        fuzzyIndex.remove(id);
+    }
+
+    /**
+     * Company and position, or {@code null} when either is missing: failed extractions store
+     * "Unknown" and would otherwise all look alike.
+     */
+    static String fuzzyText(JobApplication application) {
+        String company = application.getCompanyName();
+        String position = application.getPosition();
+        if (company == null || position == null || company.isBlank() || position.isBlank()
+                || UNKNOWN.equalsIgnoreCase(company.trim()) || UNKNOWN.equalsIgnoreCase(position.trim())) {
+            return null;
+        }
+        return company + " " + position;
+    }
+}
@@ -0,0 +1,18 @@
+package com.headhunt.dedupe;
+
+/**
+ * An existing application that a new one duplicates. {@code similarity} is 1.0 for a
+ * normalized-URL match and the estimated company/position similarity for a fuzzy match.
+ */
+public record DuplicateMatch(long existingId, Reason reason, double similarity, Action action) {
+    public enum Reason {
+        URL, FUZZY
+    }
+
+    public enum Action {
+        /** Fold the new application into the existing one instead of inserting it. */
+        MERGE,
+        /** Insert it, recording the existing id in {@code duplicateOf}. */
+        FLAG
+    }
+}
@@ -0,0 +1,183 @@
+package com.headhunt.dedupe;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Near-duplicate lookup over short texts. Each text is folded to lower-case, accent-free words, cut
+ * into character trigrams and summarised by a {@value #HASHES}-slot MinHash signature. The
+ * signature is split into {@value #BANDS} bands whose hashes act as LSH buckets, so a lookup
+ * only compares against ids sharing at least one band instead of every entry. Similarity is
+ * the fraction of equal signature slots, an estimate of the trigram Jaccard index.
+ *
+ * <p>Not thread-safe; {@link DedupeIndex} guards access.
+ */
+class MinHashIndex {
+    private static final int HASHES = 32;
+    private static final int BANDS = 8;
+    private static final int ROWS = HASHES / BANDS;
+    private static final int SHINGLE_LENGTH = 3;
+    private static final long[] SEEDS = new long[HASHES];
+    private static final Set<String> STOP_WORDS = Set.of(
+        "inc", "llc", "ltd", "gmbh", "corp", "corporation", "co", "company", "the", "and", "of");
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    record Match(long id, double similarity) {
+    }
+
+    void add(long id, String text) {
+        int[] signature = signature(text);
+        if (signature == null) {
+            return;
+        }
+        remove(id);
+        signatures.put(id, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1)).add(id);
+        }
+    }
+
+    void remove(long id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            List<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /** Most similar indexed id at or above {@code threshold}; ties go to the lowest id. */
+    Optional<Match> findSimilar(String text, double threshold, long excludeId) {
+        int[] signature = signature(text);
+        if (signature == null) {
+            return Optional.empty();
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Long> bucket = buckets.get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        Match best = null;
+        for (Long candidate : candidates) {
+            if (candidate == excludeId) {
+                continue;
+            }
+            double similarity = similarity(signature, signatures.get(candidate));
+            if (similarity >= threshold && (best == null || similarity > best.similarity()
+                    || similarity == best.similarity() && candidate < best.id())) {
+                best = new Match(candidate, similarity);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    void clear() {
+        signatures.clear();
+        buckets.clear();
+    }
+
+    int size() {
+        return signatures.size();
+    }
+
+    /** Returns {@code null} for text with no words left after normalization. */
+    static int[] signature(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        String padded = " " + normalized + " ";
+        for (int start = 0; start + SHINGLE_LENGTH <= padded.length(); start++) {
+            long shingle = 0;
+            for (int i = start; i < start + SHINGLE_LENGTH; i++) {
+                shingle = shingle * 31 + padded.charAt(i);
+            }
+            for (int h = 0; h < HASHES; h++) {
+                int value = (int) (mix(shingle ^ SEEDS[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(folded.length());
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && word.length() > 0) {
+                if (!STOP_WORDS.contains(word.toString())) {
+                    if (out.length() > 0) {
+                        out.append(' ');
+                    }
+                    out.append(word);
+                }
+                word.setLength(0);
+            }
+        }
+        return out.toString();
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,17 @@
+package com.headhunt.dto;
+
+import com.headhunt.model.ApplicationStatus;
+
+import java.util.Map;
+
+/**
+ * Aggregate counts over all job applications. Weeks are ISO weeks of {@code appliedTime}
+ * ({@code 2024-W07}); transitions are keyed {@code FROM->TO} and count status changes made
+ * since the server started.
+ */
+public record ApplicationStats(long total,
+                               Map<ApplicationStatus, Long> byStatus,
+                               Map<String, Long> byCompany,
+                               Map<String, Long> byWeek,
+                               Map<String, Long> transitions) {
+}
@@ -0,0 +1,27 @@
+package com.headhunt.dto;
+
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns shown in application list views. Selected directly by the repository's summary
+ * queries, so list requests never read {@code notes} or the contact fields.
+ */
+public record ApplicationSummary(Long id,
+                                 String companyName,
+                                 String position,
+                                 ApplicationStatus status,
+                                 LocalDateTime appliedTime,
+                                 String location,
+                                 String salary,
+                                 String jobUrl,
+                                 Long duplicateOf) {
+
+    public static ApplicationSummary of(JobApplication application) {
+        return new ApplicationSummary(application.getId(), application.getCompanyName(), application.getPosition(),
+            application.getStatus(), application.getAppliedTime(), application.getLocation(), application.getSalary(),
+            application.getJobUrl(), application.getDuplicateOf());
+    }
+}
@@ -0,0 +1,19 @@
+package com.headhunt.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a duplicate cleanup run. {@code merged} lists each kept application with the ids
+ * folded into it; {@code flagged} maps flagged ids to the application they duplicate;
+ * {@code backfilled} counts rows whose URL key was filled in or corrected.
+ */
+public record DedupeReport(boolean dryRun,
+                           long scanned,
+                           List<MergedGroup> merged,
+                           Map<Long, Long> flagged,
+                           long backfilled) {
+
+    public record MergedGroup(long keptId, List<Long> removedIds) {
+    }
+}
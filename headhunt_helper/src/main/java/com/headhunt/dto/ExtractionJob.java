@@ -0,0 +1,103 @@
+package com.headhunt.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Status of an asynchronous HTML extraction submitted through {@code POST /api/applications/html/async}.
+ * Written by the worker thread and read by polling requests, hence the volatile fields.
+ */
+public class ExtractionJob {
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        // Upstream unavailable; requeued automatically at retryAt
+        DEFERRED,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final Instant submittedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Map<String, Object> result;
+    private volatile String error;
+    private volatile Instant retryAt;
+    private volatile int deferrals;
+
+    public ExtractionJob(String id) {
+        this.id = id;
+        this.submittedAt = Instant.now();
+    }
+
+    public void markRunning() {
+        startedAt = Instant.now();
+        retryAt = null;
+        status = Status.RUNNING;
+    }
+
+    public void markDeferred(Instant retryAt, String reason) {
+        this.retryAt = retryAt;
+        this.error = reason;
+        deferrals++;
+        status = Status.DEFERRED;
+    }
+
+    public void markCompleted(Map<String, Object> result) {
+        this.result = result;
+        this.error = null;
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Map<String, Object> getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+
+    public int getDeferrals() {
+        return deferrals;
+    }
+}
@@ -0,0 +1,25 @@
+package com.headhunt.events;
+
+import com.headhunt.model.JobApplication;
+
+/**
+ * Published by {@link com.headhunt.service.JobApplicationService} for every create, update and
+ * delete. {@code application} is a detached snapshot of the saved row, {@code null} for deletes.
+ */
+public record ApplicationChangeEvent(Type type, Long id, JobApplication application) {
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ApplicationChangeEvent created(JobApplication application) {
+        return new ApplicationChangeEvent(Type.CREATED, application.getId(), application.copy());
+    }
+
+    public static ApplicationChangeEvent updated(JobApplication application) {
+        return new ApplicationChangeEvent(Type.UPDATED, application.getId(), application.copy());
+    }
+
+    public static ApplicationChangeEvent deleted(Long id) {
+        return new ApplicationChangeEvent(Type.DELETED, id, null);
+    }
+}
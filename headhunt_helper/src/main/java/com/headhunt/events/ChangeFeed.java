@@ -0,0 +1,253 @@
+package com.headhunt.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event stream of application changes. Each committed {@link ApplicationChangeEvent}
+ * is serialized once, numbered, kept in a replay ring and queued for every subscriber. Each
+ * subscriber has a bounded queue, drained on a small dispatcher pool, so a slow client never
+ * holds up writers. A subscriber whose queue overflows is disconnected and resumes from its
+ * last event id.
+ *
+ * <p>Event ids are {@code <stream>:<sequence>}, where the stream part changes on every restart.
+ * A client that reconnects with {@code Last-Event-ID} gets the events it missed from the ring.
+ * If they are gone (ring wrapped or server restarted) it gets a {@code reset} event instead,
+ * telling it to reload the full list.
+ */
+@Component
+public class ChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private static final String READY_EVENT = "ready";
+    private static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+    private final String stream = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter overflows;
+
+    // Guarded by this
+    private final FeedEvent[] ring;
+    private long sequence;
+
+    /** A serialized event; {@code name} null marks a heartbeat comment. */
+    private record FeedEvent(long sequence, String name, String data) {
+    }
+
+    private static final FeedEvent HEARTBEAT = new FeedEvent(-1, null, null);
+
+    @Autowired
+    public ChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                      @Value("${headhunt.changes.replay-size:1000}") int replaySize,
+                      @Value("${headhunt.changes.subscriber-buffer:256}") int subscriberBuffer,
+                      @Value("${headhunt.changes.dispatch-threads:2}") int dispatchThreads,
+                      @Value("${headhunt.changes.heartbeat-seconds:15}") long heartbeatSeconds,
+                      @Value("${headhunt.changes.timeout-minutes:30}") long timeoutMinutes) {
+        this.objectMapper = objectMapper;
+        this.ring = new FeedEvent[Math.max(1, replaySize)];
+        this.subscriberBuffer = Math.max(1, subscriberBuffer);
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        AtomicInteger counter = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        Gauge.builder("headhunt.changes.subscribers", subscribers, Set::size)
+            .description("Open change feed connections")
+            .register(meterRegistry);
+        this.overflows = Counter.builder("headhunt.changes.overflows")
+            .description("Change feed subscribers disconnected because their buffer filled up")
+            .register(meterRegistry);
+    }
+
+    /** Runs after the writing transaction commits, or immediately when there is none. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ApplicationChangeEvent change) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", change.id());
+        payload.put("application", change.application());
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialize change event for application {}", change.id(), e);
+            return;
+        }
+        String name = change.type().name().toLowerCase(Locale.ROOT);
+        synchronized (this) {
+            FeedEvent event = new FeedEvent(++sequence, name, data);
+            ring[(int) (event.sequence() % ring.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(event);
+            }
+        }
+    }
+
+    /**
+     * Opens a stream. With {@code lastEventId} the events after it are replayed first;
+     * without one the stream starts with a {@code ready} event carrying the current position.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber;
+        synchronized (this) {
+            List<FeedEvent> replay = new ArrayList<>();
+            if (lastEventId == null || lastEventId.isBlank()) {
+                replay.add(new FeedEvent(sequence, READY_EVENT, "{}"));
+            } else {
+                long after = resumePoint(lastEventId);
+                if (after < 0) {
+                    replay.add(new FeedEvent(sequence, RESET_EVENT, "{}"));
+                } else {
+                    for (long s = after + 1; s <= sequence; s++) {
+                        replay.add(ring[(int) (s % ring.length)]);
+                    }
+                }
+            }
+            subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(subscriberBuffer + replay.size()));
+            replay.forEach(subscriber.queue::add);
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.scheduleDrain();
+        return emitter;
+    }
+
+    /** Sequence to resume after, or -1 when the id is from another run or has left the ring. */
+    private long resumePoint(String lastEventId) {
+        int separator = lastEventId.lastIndexOf(':');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(stream)) {
+            return -1;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return after > sequence || after < sequence - ring.length ? -1 : after;
+    }
+
+    private void sendHeartbeats() {
+        // Only idle subscribers need one; it also detects connections the client dropped
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                subscriber.scheduleDrain();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        dispatcher.shutdown();
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<FeedEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, BlockingQueue<FeedEvent> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void enqueue(FeedEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                logger.info("Change feed subscriber fell {} events behind, disconnecting", queue.size());
+                overflows.increment();
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                FeedEvent event;
+                while (!closed && (event = queue.poll()) != null) {
+                    if (event.name() == null) {
+                        emitter.send(SseEmitter.event().comment(""));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                            .id(stream + ":" + event.sequence())
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Change feed subscriber went away: {}", e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                subscribers.remove(this);
+                queue.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.headhunt.extraction;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.headhunt.model.ExtractionCacheEntry;
+import com.headhunt.repository.ExtractionCacheRepository;
+import com.headhunt.util.UrlNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches parsed model output per page so re-captures of the same posting skip the model call.
+ * The key is a SHA-256 of the normalized source URL plus the cleaned visible text, so a
+ * changed posting at the same URL is a miss. Entries live in a size-bounded LRU map with a
+ * TTL, optionally backed by the {@code extraction_cache} table so hits survive restarts. Expired
+ * rows in that table are deleted when a read finds them and by a periodic purge.
+ */
+@Component
+public class ExtractionCache {
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionCache.class);
+    private static final TypeReference<Map<String, Object>> FIELDS_TYPE = new TypeReference<>() {};
+
+    private final ExtractionCacheRepository repository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean enabled;
+    private final boolean persistent;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Map<String, CachedExtraction> entries;
+    private final ScheduledExecutorService purgeExecutor;
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public ExtractionCache(ExtractionCacheRepository repository,
+                           MeterRegistry meterRegistry,
+                           @Value("${headhunt.extraction.cache.enabled:true}") boolean enabled,
+                           @Value("${headhunt.extraction.cache.persistent:false}") boolean persistent,
+                           @Value("${headhunt.extraction.cache.max-entries:1000}") int maxEntries,
+                           @Value("${headhunt.extraction.cache.ttl-hours:168}") long ttlHours,
+                           @Value("${headhunt.extraction.cache.purge-interval-minutes:60}") long purgeIntervalMinutes) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.persistent = persistent;
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedExtraction> eldest) {
+                if (size() > ExtractionCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.memoryHits = Counter.builder("headhunt.extraction.cache.requests")
+            .tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.persistentHits = Counter.builder("headhunt.extraction.cache.requests")
+            .tag("result", "hit").tag("tier", "persistent").register(meterRegistry);
+        this.misses = Counter.builder("headhunt.extraction.cache.requests")
+            .tag("result", "miss").tag("tier", "none").register(meterRegistry);
+        this.evictions = Counter.builder("headhunt.extraction.cache.evictions").register(meterRegistry);
+        Gauge.builder("headhunt.extraction.cache.size", this, ExtractionCache::size).register(meterRegistry);
+
+        if (enabled && persistent && purgeIntervalMinutes > 0) {
+            this.purgeExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "extraction-cache-purge");
+                thread.setDaemon(true);
+                return thread;
+            });
+            purgeExecutor.scheduleWithFixedDelay(this::purgeExpired, purgeIntervalMinutes, purgeIntervalMinutes,
+                TimeUnit.MINUTES);
+        } else {
+            this.purgeExecutor = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (purgeExecutor != null) {
+            purgeExecutor.shutdownNow();
+        }
+    }
+
+    public String keyFor(ExtractionContext context) {
+        String normalizedUrl = UrlNormalizer.normalize(context.getSourceUrl());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((normalizedUrl == null ? "" : normalizedUrl).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(context.getVisibleText().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Parsed model fields for a page plus the id of the application created from them.
+     */
+    public record CachedExtraction(Map<String, Object> fields, Long applicationId, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Returns the cached extraction for the key, checking memory first and then the persistent
+     * tier (promoting hits into memory). The returned field map is a mutable copy.
+     */
+    public Optional<CachedExtraction> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        synchronized (entries) {
+            CachedExtraction cached = entries.get(key);
+            if (cached != null) {
+                if (cached.createdAt().isAfter(cutoff)) {
+                    memoryHits.increment();
+                    return Optional.of(copyOf(cached));
+                }
+                entries.remove(key);
+            }
+        }
+
+        if (persistent) {
+            Optional<ExtractionCacheEntry> stored = repository.findById(key);
+            if (stored.isPresent() && !stored.get().getCreatedAt().isAfter(cutoff)) {
+                deleteExpired(key, cutoff);
+            } else if (stored.isPresent()) {
+                try {
+                    Map<String, Object> fields = objectMapper.readValue(stored.get().getFieldsJson(), FIELDS_TYPE);
+                    CachedExtraction cached = new CachedExtraction(
+                        Map.copyOf(fields), stored.get().getApplicationId(), stored.get().getCreatedAt());
+                    synchronized (entries) {
+                        entries.put(key, cached);
+                    }
+                    persistentHits.increment();
+                    return Optional.of(copyOf(cached));
+                } catch (Exception e) {
+                    logger.warn("Discarding unreadable extraction cache entry {}", key, e);
+                }
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, Map<String, Object> fields, Long applicationId) {
+        if (!enabled) {
+            return;
+        }
+        // Map.copyOf rejects null values, which the model is allowed to return
+        Map<String, Object> snapshot = new LinkedHashMap<>(fields);
+        snapshot.values().removeIf(Objects::isNull);
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (entries) {
+            entries.put(key, new CachedExtraction(Map.copyOf(snapshot), applicationId, now));
+        }
+        if (persistent) {
+            try {
+                ExtractionCacheEntry entry = new ExtractionCacheEntry();
+                entry.setCacheKey(key);
+                entry.setFieldsJson(objectMapper.writeValueAsString(snapshot));
+                entry.setApplicationId(applicationId);
+                entry.setCreatedAt(now);
+                repository.save(entry);
+            } catch (Exception e) {
+                logger.warn("Failed to persist extraction cache entry {}", key, e);
+            }
+        }
+    }
+
+    private void deleteExpired(String key, LocalDateTime cutoff) {
+        try {
+            repository.deleteIfCreatedBefore(key, cutoff);
+        } catch (Exception e) {
+            logger.warn("Failed to delete expired extraction cache entry {}", key, e);
+        }
+    }
+
+    private void purgeExpired() {
+        // Never let an exception escape: it would cancel the scheduled purge for good
+        try {
+            int purged = repository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+            if (purged > 0) {
+                logger.info("Purged {} expired extraction cache entries", purged);
+            }
+        } catch (Exception e) {
+            logger.warn("Extraction cache purge failed, retrying at the next interval", e);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static CachedExtraction copyOf(CachedExtraction cached) {
+        return new CachedExtraction(new LinkedHashMap<>(cached.fields()), cached.applicationId(), cached.createdAt());
+    }
+}
@@ -0,0 +1,152 @@
+package com.headhunt.extraction;
+
+import com.headhunt.model.JobApplication;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-request state of one HTML extraction. Created for every call and passed through the
+ * pipeline steps in {@link com.headhunt.service.JobExtractorService}, so concurrent
+ * extractions never share mutable state.
+ */
+public class ExtractionContext {
+    private final String htmlContent;
+    private boolean payloadLogged;
+    private String sourceUrl;
+    private String visibleText;
+    private HtmlTextExtractor.Result extracted;
+    private TextBlockSelector.Selection selection;
+    private String modelResponse;
+    private String extractedBy;
+    private String cacheKey;
+    private Map<String, Object> extractedFields;
+    private Long cachedApplicationId;
+    private JobApplication existingApplication;
+    private JobApplication application;
+
+    public ExtractionContext(String htmlContent) {
+        this.htmlContent = htmlContent;
+    }
+
+    public String getHtmlContent() {
+        return htmlContent;
+    }
+
+    /** Whether this request was sampled for DEBUG logging of its page, prompt and model reply. */
+    public boolean isPayloadLogged() {
+        return payloadLogged;
+    }
+
+    public void setPayloadLogged(boolean payloadLogged) {
+        this.payloadLogged = payloadLogged;
+    }
+
+    /**
+     * URL from the {@code <!-- EXTRACTED_URL: ... -->} marker injected by the Chrome script,
+     * or {@code null} when the page was submitted without it.
+     */
+    public String getSourceUrl() {
+        return sourceUrl;
+    }
+
+    public void setSourceUrl(String sourceUrl) {
+        this.sourceUrl = sourceUrl;
+    }
+
+    public String getVisibleText() {
+        return visibleText;
+    }
+
+    public void setVisibleText(String visibleText) {
+        this.visibleText = visibleText;
+    }
+
+    /** Full extractor output, including the text blocks used for prompt selection. */
+    public HtmlTextExtractor.Result getExtracted() {
+        return extracted;
+    }
+
+    public void setExtracted(HtmlTextExtractor.Result extracted) {
+        this.extracted = extracted;
+    }
+
+    /** The part of the visible text sent to the model; {@code null} for cache hits. */
+    public TextBlockSelector.Selection getSelection() {
+        return selection;
+    }
+
+    public void setSelection(TextBlockSelector.Selection selection) {
+        this.selection = selection;
+    }
+
+    public String getModelResponse() {
+        return modelResponse;
+    }
+
+    public void setModelResponse(String modelResponse) {
+        this.modelResponse = modelResponse;
+    }
+
+    /**
+     * Where the fields came from: {@code cache}, {@code model}, or the site extractors that read
+     * them from the page's structured data (e.g. {@code json-ld}).
+     */
+    public String getExtractedBy() {
+        return extractedBy;
+    }
+
+    public void setExtractedBy(String extractedBy) {
+        this.extractedBy = extractedBy;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    /**
+     * Fields parsed from the model response, read from structured data or taken from the
+     * extraction cache.
+     */
+    public Map<String, Object> getExtractedFields() {
+        return extractedFields;
+    }
+
+    public void setExtractedFields(Map<String, Object> extractedFields) {
+        this.extractedFields = extractedFields;
+    }
+
+    public Long getCachedApplicationId() {
+        return cachedApplicationId;
+    }
+
+    public void setCachedApplicationId(Long cachedApplicationId) {
+        this.cachedApplicationId = cachedApplicationId;
+    }
+
+    /**
+     * Application saved by an earlier capture of the same page, if the cache still points at one.
+     */
+    public Optional<JobApplication> getExistingApplication() {
+        return Optional.ofNullable(existingApplication);
+    }
+
+    public void setExistingApplication(JobApplication existingApplication) {
+        this.existingApplication = existingApplication;
+    }
+
+    /**
+     * Unsaved application built from the extracted fields.
+     */
+    public JobApplication getApplication() {
+        return application;
+    }
+
+    public void setApplication(JobApplication application) {
+        this.application = application;
+    }
+}
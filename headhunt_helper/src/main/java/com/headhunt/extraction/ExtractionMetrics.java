@@ -0,0 +1,169 @@
+package com.headhunt.extraction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the HTML extraction pipeline: a latency histogram per {@link Stage}, input and
+ * token size distributions, counters for failed and retried model calls, and where each
+ * page's fields came from (cache, structured data or the model). Also decides
+ * which requests get their payloads logged, so that full pages are only written for a sample.
+ */
+@Component
+public class ExtractionMetrics {
+    public enum Stage {
+        CLEAN, CACHE, SITE, SELECT, MODEL, PARSE, PERSIST;
+
+        private String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final int PAYLOAD_PREVIEW_LENGTH = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final double payloadLogSampleRate;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final DistributionSummary htmlSize;
+    private final DistributionSummary textSize;
+    private final DistributionSummary promptSize;
+    private final DistributionSummary promptReduction;
+    private final DistributionSummary inputTokens;
+    private final DistributionSummary outputTokens;
+    private final Counter upstreamRetries;
+    private final Timer upstreamThrottle;
+
+    @Autowired
+    public ExtractionMetrics(MeterRegistry meterRegistry,
+                             @Value("${headhunt.extraction.payload-log-sample-rate:0.01}") double payloadLogSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.payloadLogSampleRate = payloadLogSampleRate;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("headhunt.extraction.stage")
+                .description("Time spent in one stage of HTML extraction")
+                .tag("stage", stage.tag())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+        this.htmlSize = DistributionSummary.builder("headhunt.extraction.input.size")
+            .description("Length of submitted HTML")
+            .baseUnit("chars")
+            .tag("kind", "html")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.textSize = DistributionSummary.builder("headhunt.extraction.input.size")
+            .description("Length of visible text sent to the model")
+            .baseUnit("chars")
+            .tag("kind", "text")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.promptSize = DistributionSummary.builder("headhunt.extraction.input.size")
+            .description("Length of the selected text actually sent to the model")
+            .baseUnit("chars")
+            .tag("kind", "prompt")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.promptReduction = DistributionSummary.builder("headhunt.extraction.prompt.reduction")
+            .description("Share of the visible text left out of the prompt by block selection")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.inputTokens = DistributionSummary.builder("headhunt.extraction.tokens")
+            .description("Tokens reported by the model API per request")
+            .baseUnit("tokens")
+            .tag("direction", "input")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.outputTokens = DistributionSummary.builder("headhunt.extraction.tokens")
+            .description("Tokens reported by the model API per request")
+            .baseUnit("tokens")
+            .tag("direction", "output")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.upstreamRetries = Counter.builder("headhunt.extraction.upstream.retries")
+            .description("Model API calls retried after a transient failure")
+            .register(meterRegistry);
+        this.upstreamThrottle = Timer.builder("headhunt.extraction.upstream.throttle")
+            .description("Time model API calls waited for the client-side rate limiter")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> step) {
+        return stageTimers.get(stage).record(step);
+    }
+
+    public void time(Stage stage, Runnable step) {
+        stageTimers.get(stage).record(step);
+    }
+
+    public void recordInput(int htmlLength, int textLength) {
+        htmlSize.record(htmlLength);
+        textSize.record(textLength);
+    }
+
+    public void recordSelection(int promptLength, double reduction) {
+        promptSize.record(promptLength);
+        promptReduction.record(reduction);
+    }
+
+    public void recordTokens(Number input, Number output) {
+        if (input != null) {
+            inputTokens.record(input.doubleValue());
+        }
+        if (output != null) {
+            outputTokens.record(output.doubleValue());
+        }
+    }
+
+    /** Counts how a page's fields were obtained: {@code cache}, {@code site} or {@code model}. */
+    public void recordSource(String source) {
+        meterRegistry.counter("headhunt.extraction.source", "source", source).increment();
+    }
+
+    /** Counts one site extractor attempt; {@code outcome} is {@code complete}, {@code partial} or {@code miss}. */
+    public void recordSiteExtraction(String extractor, String outcome) {
+        meterRegistry.counter("headhunt.extraction.site", "extractor", extractor, "outcome", outcome).increment();
+    }
+
+    /** Counts a failed model call; {@code reason} is the HTTP status code or a short error class. */
+    public void recordUpstreamError(String reason) {
+        meterRegistry.counter("headhunt.extraction.upstream.errors", "reason", reason).increment();
+    }
+
+    public void recordUpstreamRetry() {
+        upstreamRetries.increment();
+    }
+
+    public void recordThrottle(long waitNanos) {
+        upstreamThrottle.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Publishes the model API circuit breaker state: 0 closed, 1 open, 2 half-open. */
+    public void registerCircuitState(Supplier<Number> state) {
+        Gauge.builder("headhunt.extraction.upstream.circuit", state)
+            .description("State of the model API circuit breaker (0 closed, 1 open, 2 half-open)")
+            .register(meterRegistry);
+    }
+
+    public boolean samplePayload() {
+        return payloadLogSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < payloadLogSampleRate;
+    }
+
+    /** Start of a logged payload; full pages and prompts are too large for the log. */
+    public static String preview(String payload) {
+        return payload.length() <= PAYLOAD_PREVIEW_LENGTH ? payload : payload.substring(0, PAYLOAD_PREVIEW_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,399 @@
+package com.headhunt.extraction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass HTML to visible-text converter. Walks the input once with a small state machine,
+ * skipping tags, comments and the bodies of {@code <script>}/{@code <style>} elements, decoding
+ * the common character entities and collapsing whitespace as it goes. The
+ * {@code <!-- EXTRACTED_URL: ... -->} marker injected by the Chrome script is picked up on the
+ * way, and scanning stops as soon as the character budget is reached instead of converting the
+ * whole document first.
+ *
+ * <p>Block-level elements end a line, and the text is also returned as a list of such
+ * {@link Block}s. Each block is labelled with the innermost enclosing element that is a
+ * {@code <title>}, {@code <h1>}, navigation landmark, or a start tag containing one of the
+ * caller's marker strings (job-board class names and the like).
+ */
+public final class HtmlTextExtractor {
+    public static final String TITLE = "<title>";
+    public static final String HEADING = "<h1>";
+    public static final String BOILERPLATE = "<nav>";
+
+    private static final String URL_MARKER = "EXTRACTED_URL:";
+    private static final String[] RAW_TEXT_ELEMENTS = {"script", "style"};
+    private static final int MAX_ENTITY_LENGTH = 10;
+    private static final int MAX_OPEN_REGIONS = 16;
+    private static final Set<String> BLOCK_ELEMENTS = Set.of(
+        "address", "article", "aside", "blockquote", "br", "dd", "div", "dl", "dt", "fieldset",
+        "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header",
+        "hr", "li", "main", "nav", "ol", "p", "pre", "section", "table", "td", "th", "title", "tr", "ul");
+    private static final Set<String> VOID_ELEMENTS = Set.of(
+        "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "source", "track", "wbr");
+    // Common inline containers that may carry job-board markers
+    private static final Set<String> INLINE_ELEMENTS = Set.of("a", "b", "em", "label", "span", "strong");
+    // Every tag the extractor reacts to, indexed by first letter so a tag is classified with a
+    // few character comparisons and no allocation
+    private static final Tag[][] TAGS_BY_FIRST_LETTER = tagsByFirstLetter();
+
+    /** What the extractor needs to know about a tag name. */
+    private record Tag(String name, boolean block, boolean isVoid, String label) {
+    }
+
+    private HtmlTextExtractor() {
+    }
+
+    public record Result(String text, String sourceUrl, boolean truncated, List<Block> blocks) {
+    }
+
+    /** Line {@code [start, end)} of {@link Result#text()}; {@code label} is null outside labelled regions. */
+    public record Block(int start, int end, String label) {
+        public int length() {
+            return end - start;
+        }
+    }
+
+    /** An open labelled element; {@code depth} counts nested elements of the same name. */
+    private static final class Region {
+        final String tag;
+        final String label;
+        int depth = 1;
+
+        Region(String tag, String label) {
+            this.tag = tag;
+            this.label = label;
+        }
+    }
+
+    public static Result extract(CharSequence html, int maxChars) {
+        return extract(html, maxChars, List.of());
+    }
+
+    public static Result extract(CharSequence html, int maxChars, Collection<String> markers) {
+        int length = html.length();
+        StringBuilder out = new StringBuilder(Math.min(length, maxChars));
+        List<Block> blocks = new ArrayList<>();
+        List<Region> regions = new ArrayList<>();
+        String sourceUrl = null;
+        boolean pendingSpace = false;
+        boolean pendingBreak = false;
+        boolean truncated = false;
+        int blockStart = 0;
+        String blockLabel = null;
+
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                if (regionMatches(html, i + 1, "!--")) {
+                    int end = indexOf(html, "-->", i + 4);
+                    int bodyEnd = end < 0 ? length : end;
+                    if (sourceUrl == null) {
+                        sourceUrl = readUrlMarker(html, i + 4, bodyEnd);
+                    }
+                    i = end < 0 ? length : end + 3;
+                    continue;
+                }
+                String rawTextElement = rawTextElementAt(html, i + 1);
+                if (rawTextElement != null) {
+                    int close = indexOfIgnoreCase(html, "</" + rawTextElement, i + 1 + rawTextElement.length());
+                    i = close < 0 ? length : skipTag(html, close);
+                    pendingSpace = true;
+                    continue;
+                }
+                if (i + 1 < length && isTagStart(html.charAt(i + 1))) {
+                    int end = skipTag(html, i);
+                    boolean closing = html.charAt(i + 1) == '/';
+                    Tag tag = lookupTag(html, closing ? i + 2 : i + 1);
+                    if (tag != null) {
+                        if (closing) {
+                            closeRegions(regions, tag.name());
+                        } else {
+                            openRegions(regions, tag, html, i, end, markers);
+                        }
+                    }
+                    if (tag != null && tag.block()) {
+                        pendingBreak = true;
+                    } else {
+                        pendingSpace = true;
+                    }
+                    i = end;
+                    continue;
+                }
+            }
+
+            char decoded = c;
+            if (c == '&') {
+                int semicolon = entityEnd(html, i + 1);
+                if (semicolon > i + 1) {
+                    char entity = decodeEntity(html, i + 1, semicolon);
+                    if (entity != 0) {
+                        decoded = entity;
+                        i = semicolon;
+                    }
+                }
+            }
+            i++;
+
+            if (Character.isWhitespace(decoded) || Character.isSpaceChar(decoded)) {
+                pendingSpace = true;
+                continue;
+            }
+            if ((pendingSpace || pendingBreak) && out.length() > 0) {
+                if (out.length() + 1 >= maxChars) {
+                    truncated = true;
+                    break;
+                }
+                if (pendingBreak) {
+                    blocks.add(new Block(blockStart, out.length(), blockLabel));
+                    out.append('\n');
+                    blockStart = out.length();
+                } else {
+                    out.append(' ');
+                }
+            }
+            if (out.length() == blockStart) {
+                blockLabel = regions.isEmpty() ? null : regions.get(regions.size() - 1).label;
+            }
+            pendingSpace = false;
+            pendingBreak = false;
+            out.append(decoded);
+            if (out.length() >= maxChars) {
+                truncated = hasMoreText(html, i);
+                break;
+            }
+        }
+        if (out.length() > blockStart) {
+            blocks.add(new Block(blockStart, out.length(), blockLabel));
+        }
+        return new Result(out.toString(), sourceUrl, truncated, blocks);
+    }
+
+    /** Returns the tag whose name starts at {@code from} if it is one we track, else null. */
+    private static Tag lookupTag(CharSequence html, int from) {
+        if (from >= html.length()) {
+            return null;
+        }
+        int letter = Character.toLowerCase(html.charAt(from)) - 'a';
+        if (letter < 0 || letter >= TAGS_BY_FIRST_LETTER.length) {
+            return null;
+        }
+        for (Tag tag : TAGS_BY_FIRST_LETTER[letter]) {
+            int after = from + tag.name().length();
+            if (regionMatchesIgnoreCase(html, from, tag.name())
+                    && (after == html.length() || !Character.isLetterOrDigit(html.charAt(after)))) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    private static Tag[][] tagsByFirstLetter() {
+        Set<String> names = new HashSet<>(BLOCK_ELEMENTS);
+        names.addAll(VOID_ELEMENTS);
+        names.addAll(INLINE_ELEMENTS);
+        List<List<Tag>> byLetter = new ArrayList<>();
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            byLetter.add(new ArrayList<>());
+        }
+        for (String name : names) {
+            String label = switch (name) {
+                case "title" -> TITLE;
+                case "h1" -> HEADING;
+                case "nav", "footer", "aside" -> BOILERPLATE;
+                default -> null;
+            };
+            byLetter.get(name.charAt(0) - 'a')
+                .add(new Tag(name, BLOCK_ELEMENTS.contains(name), VOID_ELEMENTS.contains(name), label));
+        }
+        return byLetter.stream().map(list -> list.toArray(Tag[]::new)).toArray(Tag[][]::new);
+    }
+
+    private static void openRegions(List<Region> regions, Tag tag, CharSequence html, int tagStart, int tagEnd,
+                                    Collection<String> markers) {
+        if (tag.isVoid() || html.charAt(tagEnd - 2) == '/') {
+            return;
+        }
+        for (Region region : regions) {
+            if (region.tag.equals(tag.name())) {
+                region.depth++;
+            }
+        }
+        String label = tag.label() != null ? tag.label() : matchMarker(html, tagStart, tagEnd, markers);
+        if (label != null && regions.size() < MAX_OPEN_REGIONS) {
+            regions.add(new Region(tag.name(), label));
+        }
+    }
+
+    private static void closeRegions(List<Region> regions, String name) {
+        for (int r = regions.size() - 1; r >= 0; r--) {
+            Region region = regions.get(r);
+            if (region.tag.equals(name) && --region.depth == 0) {
+                regions.remove(r);
+            }
+        }
+    }
+
+    /** Returns the first marker occurring in the start tag's attributes, if it has any. */
+    private static String matchMarker(CharSequence html, int tagStart, int tagEnd, Collection<String> markers) {
+        if (markers.isEmpty() || indexOf(html, "=", tagStart, tagEnd) < 0) {
+            return null;
+        }
+        for (String marker : markers) {
+            if (indexOf(html, marker, tagStart, tagEnd) >= 0) {
+                return marker;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTagStart(char c) {
+        return Character.isLetter(c) || c == '/' || c == '!' || c == '?';
+    }
+
+    /**
+     * Returns the element name if a {@code script} or {@code style} start tag begins at
+     * {@code from}, {@code null} otherwise.
+     */
+    private static String rawTextElementAt(CharSequence html, int from) {
+        for (String name : RAW_TEXT_ELEMENTS) {
+            if (regionMatchesIgnoreCase(html, from, name)) {
+                int after = from + name.length();
+                if (after >= html.length()) {
+                    return name;
+                }
+                char next = html.charAt(after);
+                if (next == '>' || next == '/' || Character.isWhitespace(next)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Skips a tag starting at the '<' at {@code start}, honouring quoted attribute values. */
+    private static int skipTag(CharSequence html, int start) {
+        char quote = 0;
+        for (int i = start + 1; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return html.length();
+    }
+
+    private static String readUrlMarker(CharSequence html, int from, int to) {
+        int start = from;
+        while (start < to && Character.isWhitespace(html.charAt(start))) {
+            start++;
+        }
+        if (!regionMatches(html, start, URL_MARKER)) {
+            return null;
+        }
+        String url = html.subSequence(start + URL_MARKER.length(), to).toString().trim();
+        return url.isEmpty() ? null : url;
+    }
+
+    private static int entityEnd(CharSequence html, int from) {
+        int limit = Math.min(html.length(), from + MAX_ENTITY_LENGTH);
+        for (int i = from; i < limit; i++) {
+            char c = html.charAt(i);
+            if (c == ';') {
+                return i;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static char decodeEntity(CharSequence html, int from, int to) {
+        if (html.charAt(from) == '#') {
+            try {
+                boolean hex = to - from > 1 && (html.charAt(from + 1) == 'x' || html.charAt(from + 1) == 'X');
+                int codePoint = hex
+                    ? Integer.parseInt(html.subSequence(from + 2, to).toString(), 16)
+                    : Integer.parseInt(html.subSequence(from + 1, to).toString());
+                return codePoint > 0 && codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT ? (char) codePoint : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        switch (html.subSequence(from, to).toString()) {
+            case "amp": return '&';
+            case "lt": return '<';
+            case "gt": return '>';
+            case "quot": return '"';
+            case "apos": return '\'';
+            case "nbsp": return ' ';
+            default: return 0;
+        }
+    }
+
+    private static boolean hasMoreText(CharSequence html, int from) {
+        for (int i = from; i < html.length(); i++) {
+            if (!Character.isWhitespace(html.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionMatches(CharSequence html, int from, String expected) {
+        if (from + expected.length() > html.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (html.charAt(from + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence html, int from, String expected) {
+        if (from + expected.length() > html.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(html.charAt(from + i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence html, String target, int from) {
+        return indexOf(html, target, from, html.length());
+    }
+
+    private static int indexOf(CharSequence html, String target, int from, int to) {
+        for (int i = Math.max(from, 0); i + target.length() <= to; i++) {
+            if (regionMatches(html, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfIgnoreCase(CharSequence html, String target, int from) {
+        for (int i = Math.max(from, 0); i + target.length() <= html.length(); i++) {
+            if (regionMatchesIgnoreCase(html, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.headhunt.extraction;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+
+/**
+ * Pulls the JSON object out of a model reply (which may wrap it in prose or a code fence) and
+ * reads it into a field map.
+ */
+public final class ModelResponseParser {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> FIELD_MAP = new TypeReference<>() {};
+
+    private ModelResponseParser() {
+    }
+
+    public static Map<String, Object> parse(String response) {
+        int startIndex = response.indexOf('{');
+        int endIndex = response.lastIndexOf('}') + 1;
+        if (startIndex == -1 || endIndex <= startIndex) {
+            throw new IllegalArgumentException("No valid JSON object found in response");
+        }
+        try {
+            return OBJECT_MAPPER.readValue(response.substring(startIndex, endIndex), FIELD_MAP);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid JSON in response: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.headhunt.extraction;
+
+import com.headhunt.extraction.HtmlTextExtractor.Block;
+import com.headhunt.util.UrlNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks page text to the part worth sending to the model. The extractor splits the page into
+ * blocks; each block is scored for how much it looks like posting content (job vocabulary,
+ * prose length, overlap with the page title, salary figures, job-board container markers) or
+ * page chrome (navigation landmarks, very short fragments, "similar jobs" and legal boilerplate,
+ * blocks repeated with only numbers changed as in listings), and the best blocks are kept, in
+ * page order, until the character budget is spent.
+ */
+@Component
+public class TextBlockSelector {
+    public static final int CHARS_PER_TOKEN = 4;
+
+    // Class, id and data attribute fragments of the posting containers on common job boards,
+    // keyed by host suffix. A list rather than a map, so the order of markers() is the same on every run.
+    private static final List<Map.Entry<String, List<String>>> BOARD_MARKERS = List.of(
+        Map.entry("greenhouse.io", List.of("app-title", "company-name", "job__title", "job__description")),
+        Map.entry("lever.co", List.of("posting-headline", "posting-categories", "data-qa=\"job-description\"",
+            "posting-page")),
+        Map.entry("myworkdayjobs.com", List.of("jobPostingHeader", "jobPostingDescription", "job-posting-details")),
+        Map.entry("linkedin.com", List.of("top-card-layout__title", "show-more-less-html__markup",
+            "jobs-description__content", "job-details-jobs-unified-top-card")),
+        Map.entry("indeed.com", List.of("jobsearch-JobInfoHeader", "jobDescriptionText")));
+    // schema.org microdata and generic naming used by many smaller career sites
+    private static final List<String> GENERIC_MARKERS = List.of("schema.org/JobPosting", "job-description",
+        "jobDescription", "job-details");
+
+    private static final Set<String> JOB_TERMS = Set.of(
+        "ability", "apply", "bachelor", "benefits", "bonus", "build", "candidate", "compensation", "contract",
+        "degree", "design", "develop", "equity", "experience", "full-time", "hybrid", "insurance", "knowledge",
+        "location", "onsite", "opportunity", "part-time", "preferred", "qualifications", "remote", "requirements",
+        "required", "responsibilities", "role", "salary", "skills", "team", "vacation", "work", "years", "you");
+    private static final List<String> NOISE_PHRASES = List.of(
+        "similar jobs", "people also viewed", "jobs you may", "recommended jobs", "more jobs", "job alert",
+        "cookie", "privacy policy", "terms of use", "terms of service", "all rights reserved", "sign in", "log in",
+        "share this job", "©");
+    private static final Set<String> TITLE_STOP_WORDS = Set.of("and", "at", "for", "in", "job", "jobs", "of", "the",
+        "to", "with", "careers", "hiring");
+    // Matched against lower-cased block text
+    private static final Pattern MONEY = Pattern.compile("[$€£]\\s?\\d|\\d\\s?k\\b|\\busd\\b|\\beur\\b");
+
+    private static final double MARKER_BOARD_BONUS = 4;
+    private static final double MARKER_OTHER_BONUS = 2;
+    private static final double TITLE_BONUS = 10;
+    private static final double BOILERPLATE_PENALTY = 4;
+    private static final double NOISE_PENALTY = 3;
+    private static final double FRAGMENT_PENALTY = 1;
+    private static final int FRAGMENT_WORDS = 4;
+    private static final double NEIGHBOUR_WEIGHT = 0.5;
+    private static final int REPEAT_THRESHOLD = 3;
+
+    private final boolean enabled;
+    private final int budgetChars;
+    private final List<String> markers;
+
+    /**
+     * Text chosen for the prompt. {@code reduction} is the share of the visible text left out
+     * (0 when everything was kept).
+     */
+    public record Selection(String text, int originalChars, int keptBlocks, int totalBlocks) {
+        public double reduction() {
+            return originalChars == 0 ? 0 : 1 - (double) text.length() / originalChars;
+        }
+    }
+
+    @Autowired
+    public TextBlockSelector(@Value("${headhunt.extraction.selection.enabled:true}") boolean enabled,
+                             @Value("${headhunt.extraction.selection.token-budget:4000}") int tokenBudget) {
+        this.enabled = enabled;
+        this.budgetChars = tokenBudget * CHARS_PER_TOKEN;
+        // Board markers first: the extractor labels a tag with the first marker it contains
+        Set<String> all = new LinkedHashSet<>();
+        BOARD_MARKERS.forEach(board -> all.addAll(board.getValue()));
+        all.addAll(GENERIC_MARKERS);
+        this.markers = List.copyOf(all);
+    }
+
+    /** Attribute fragments the extractor should label blocks with. */
+    public List<String> markers() {
+        return markers;
+    }
+
+    public Selection select(HtmlTextExtractor.Result extracted) {
+        String text = extracted.text();
+        List<Block> blocks = extracted.blocks();
+        if (!enabled || text.length() <= budgetChars || blocks.isEmpty()) {
+            return new Selection(text, text.length(), blocks.size(), blocks.size());
+        }
+
+        List<String> boardMarkers = boardMarkers(extracted.sourceUrl());
+        Set<String> titleWords = titleWords(text, blocks);
+        String[] contents = new String[blocks.size()];
+        String[] shapes = new String[blocks.size()];
+        Map<String, Integer> shapeCounts = new HashMap<>();
+        for (int b = 0; b < blocks.size(); b++) {
+            Block block = blocks.get(b);
+            contents[b] = text.substring(block.start(), block.end()).toLowerCase(Locale.ROOT);
+            shapes[b] = shape(contents[b]);
+            shapeCounts.merge(shapes[b], 1, Integer::sum);
+        }
+        double[] raw = new double[blocks.size()];
+        for (int b = 0; b < blocks.size(); b++) {
+            raw[b] = score(contents[b], blocks.get(b).label(), boardMarkers, titleWords);
+            int repeats = shapeCounts.get(shapes[b]);
+            if (repeats >= REPEAT_THRESHOLD) {
+                // Listing entries ("Engineer 12 at Company 12") and repeated page chrome
+                raw[b] -= log2(repeats);
+            }
+        }
+        // Lists under a relevant heading are often one or two words per item; let good
+        // neighbours pull them up
+        double[] scores = new double[blocks.size()];
+        for (int b = 0; b < blocks.size(); b++) {
+            double previous = b > 0 ? raw[b - 1] : 0;
+            double next = b + 1 < blocks.size() ? raw[b + 1] : 0;
+            scores[b] = raw[b] + NEIGHBOUR_WEIGHT * Math.max(0, (previous + next) / 2);
+        }
+
+        List<Integer> ranked = new ArrayList<>();
+        for (int b = 0; b < blocks.size(); b++) {
+            if (scores[b] > 0) {
+                ranked.add(b);
+            }
+        }
+        ranked.sort(Comparator.comparingDouble((Integer b) -> scores[b]).reversed());
+
+        boolean[] kept = new boolean[blocks.size()];
+        int used = 0;
+        for (int b : ranked) {
+            int cost = blocks.get(b).length() + 1;
+            if (used + cost <= budgetChars) {
+                kept[b] = true;
+                used += cost;
+            }
+        }
+
+        StringBuilder selected = new StringBuilder(used);
+        int keptBlocks = 0;
+        for (int b = 0; b < blocks.size(); b++) {
+            if (kept[b]) {
+                Block block = blocks.get(b);
+                if (selected.length() > 0) {
+                    selected.append('\n');
+                }
+                selected.append(text, block.start(), block.end());
+                keptBlocks++;
+            }
+        }
+        if (keptBlocks == 0) {
+            // Nothing scored well (or the best block alone exceeds the budget): fall back to the top of the page
+            return new Selection(text.substring(0, budgetChars), text.length(), 0, blocks.size());
+        }
+        return new Selection(selected.toString(), text.length(), keptBlocks, blocks.size());
+    }
+
+    private static double score(String content, String label, List<String> boardMarkers, Set<String> titleWords) {
+        if (HtmlTextExtractor.TITLE.equals(label) || HtmlTextExtractor.HEADING.equals(label)) {
+            return TITLE_BONUS;
+        }
+        if (HtmlTextExtractor.BOILERPLATE.equals(label)) {
+            return -BOILERPLATE_PENALTY;
+        }
+        int wordCount = 0;
+        int jobTerms = 0;
+        int titleHits = 0;
+        for (int end = 0, start = nextWord(content, 0); start < content.length(); start = nextWord(content, end)) {
+            end = wordEnd(content, start);
+            String word = content.substring(start, end);
+            wordCount++;
+            if (JOB_TERMS.contains(word)) {
+                jobTerms++;
+            }
+            if (titleWords.contains(word)) {
+                titleHits++;
+            }
+        }
+        if (wordCount == 0) {
+            return -FRAGMENT_PENALTY;
+        }
+
+        double score = 10.0 * jobTerms / wordCount + 0.5 * log2(1 + wordCount) + Math.min(2, titleHits);
+        if (wordCount < FRAGMENT_WORDS) {
+            score -= FRAGMENT_PENALTY + 1;
+        }
+        if (MONEY.matcher(content).find()) {
+            score += 2;
+        }
+        for (String phrase : NOISE_PHRASES) {
+            if (content.contains(phrase)) {
+                score -= NOISE_PENALTY;
+                break;
+            }
+        }
+        if (label != null) {
+            score += boardMarkers.contains(label) ? MARKER_BOARD_BONUS : MARKER_OTHER_BONUS;
+        }
+        return score;
+    }
+
+    private static List<String> boardMarkers(String sourceUrl) {
+        String host = UrlNormalizer.host(sourceUrl);
+        if (host != null) {
+            for (Map.Entry<String, List<String>> board : BOARD_MARKERS) {
+                if (host.equals(board.getKey()) || host.endsWith("." + board.getKey())) {
+                    return board.getValue();
+                }
+            }
+        }
+        return GENERIC_MARKERS;
+    }
+
+    /** Significant words of the page title and first heading, usually the position and company. */
+    private static Set<String> titleWords(String text, List<Block> blocks) {
+        Set<String> words = new HashSet<>();
+        for (Block block : blocks) {
+            if (HtmlTextExtractor.TITLE.equals(block.label()) || HtmlTextExtractor.HEADING.equals(block.label())) {
+                String title = text.substring(block.start(), block.end()).toLowerCase(Locale.ROOT);
+                for (int end = 0, start = nextWord(title, 0); start < title.length(); start = nextWord(title, end)) {
+                    end = wordEnd(title, start);
+                    String word = title.substring(start, end);
+                    if (word.length() > 1 && !TITLE_STOP_WORDS.contains(word)) {
+                        words.add(word);
+                    }
+                }
+            }
+        }
+        return words;
+    }
+
+    private static int nextWord(String content, int from) {
+        int i = from;
+        while (i < content.length() && !Character.isLetterOrDigit(content.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Words are letters and digits, plus the inner punctuation of "full-time", "c++" and "c#". */
+    private static int wordEnd(String content, int start) {
+        int i = start + 1;
+        while (i < content.length()) {
+            char c = content.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '\'' && c != '+' && c != '#' && c != '-') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /** The content with every run of digits collapsed, so numbered listing entries compare equal. */
+    private static String shape(String content) {
+        StringBuilder shape = new StringBuilder(content.length());
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (shape.isEmpty() || shape.charAt(shape.length() - 1) != '#') {
+                    shape.append('#');
+                }
+            } else {
+                shape.append(c);
+            }
+        }
+        return shape.toString();
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
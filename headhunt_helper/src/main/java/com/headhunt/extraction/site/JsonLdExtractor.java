@@ -0,0 +1,235 @@
+package com.headhunt.extraction.site;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the schema.org {@code JobPosting} that Greenhouse, Workday, LinkedIn, Indeed and most
+ * applicant tracking systems embed as JSON-LD for search engines. Works on any host; postings
+ * may sit at the top level, in an array, in an {@code @graph} or under {@code mainEntity}.
+ */
+@Component
+@Order(1)
+public class JsonLdExtractor implements SiteExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(JsonLdExtractor.class);
+
+    // Hand-written JSON-LD often has raw newlines in descriptions and trailing commas
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+        .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+        .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+        .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+        .build();
+    private static final Map<String, String> CURRENCY_SYMBOLS = Map.of("USD", "$", "EUR", "€", "GBP", "£");
+    private static final int MAX_NESTING = 4;
+
+    @Override
+    public String name() {
+        return "json-ld";
+    }
+
+    @Override
+    public boolean supports(String host) {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> extract(SitePage page) {
+        for (String script : page.jsonLd()) {
+            JsonNode root;
+            try {
+                root = OBJECT_MAPPER.readTree(script);
+            } catch (Exception e) {
+                logger.debug("Skipping unparseable JSON-LD on {}: {}", page.sourceUrl(), e.getMessage());
+                continue;
+            }
+            JsonNode posting = findPosting(root, 0);
+            if (posting != null) {
+                return fields(posting);
+            }
+        }
+        return Map.of();
+    }
+
+    private static JsonNode findPosting(JsonNode node, int depth) {
+        if (node == null || depth > MAX_NESTING) {
+            return null;
+        }
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                JsonNode posting = findPosting(element, depth + 1);
+                if (posting != null) {
+                    return posting;
+                }
+            }
+            return null;
+        }
+        if (!node.isObject()) {
+            return null;
+        }
+        if (hasType(node, "JobPosting")) {
+            return node;
+        }
+        JsonNode posting = findPosting(node.get("@graph"), depth + 1);
+        return posting != null ? posting : findPosting(node.get("mainEntity"), depth + 1);
+    }
+
+    private static boolean hasType(JsonNode node, String type) {
+        JsonNode types = node.get("@type");
+        if (types == null) {
+            return false;
+        }
+        if (types.isArray()) {
+            for (JsonNode value : types) {
+                if (type.equals(value.asText())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return type.equals(types.asText());
+    }
+
+    private static Map<String, Object> fields(JsonNode posting) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        put(fields, "position", SitePage.clean(text(posting.get("title"))));
+        put(fields, "companyName", SitePage.clean(name(posting.get("hiringOrganization"))));
+        put(fields, "jobUrl", text(posting.get("url")));
+        put(fields, "location", location(posting));
+        put(fields, "salary", salary(posting.get("baseSalary")));
+        JsonNode contact = posting.get("applicationContact");
+        if (contact != null && contact.isObject()) {
+            put(fields, "contactPerson", SitePage.clean(text(contact.get("name"))));
+            put(fields, "contactEmail", text(contact.get("email")));
+        }
+        put(fields, "notes", SitePage.summary(posting.path("description").asText(null)));
+        return fields;
+    }
+
+    private static String location(JsonNode posting) {
+        Set<String> locations = new LinkedHashSet<>();
+        if ("TELECOMMUTE".equalsIgnoreCase(text(posting.get("jobLocationType")))) {
+            locations.add("Remote");
+        }
+        for (JsonNode place : asList(posting.get("jobLocation"))) {
+            JsonNode address = place.isObject() ? place.get("address") : place;
+            String formatted = address != null && address.isObject() ? address(address) : SitePage.clean(text(address));
+            if (formatted == null && place.isObject()) {
+                formatted = SitePage.clean(text(place.get("name")));
+            }
+            if (formatted != null) {
+                locations.add(formatted);
+            }
+        }
+        return locations.isEmpty() ? null : String.join("; ", locations);
+    }
+
+    private static String address(JsonNode address) {
+        Set<String> parts = new LinkedHashSet<>();
+        for (String field : List.of("addressLocality", "addressRegion", "addressCountry")) {
+            String part = SitePage.clean(name(address.get(field)));
+            if (part != null) {
+                parts.add(part);
+            }
+        }
+        return parts.isEmpty() ? null : String.join(", ", parts);
+    }
+
+    /** Formats a {@code MonetaryAmount} as e.g. "$170,000 - $210,000 per year". */
+    private static String salary(JsonNode baseSalary) {
+        if (baseSalary == null || baseSalary.isNull()) {
+            return null;
+        }
+        if (!baseSalary.isObject()) {
+            return SitePage.clean(baseSalary.asText());
+        }
+        String currency = text(baseSalary.get("currency"));
+        JsonNode value = baseSalary.get("value");
+        String unit = text(baseSalary.get("unitText"));
+        String amount;
+        if (value != null && value.isObject()) {
+            unit = unit != null ? unit : text(value.get("unitText"));
+            String min = amount(value.get("minValue"), currency);
+            String max = amount(value.get("maxValue"), currency);
+            String single = amount(value.get("value"), currency);
+            if (min != null && max != null && !min.equals(max)) {
+                amount = min + " - " + max;
+            } else {
+                amount = single != null ? single : min != null ? min : max;
+            }
+        } else {
+            amount = amount(value, currency);
+        }
+        if (amount == null) {
+            return null;
+        }
+        return unit == null ? amount : amount + " per " + unit.toLowerCase(Locale.ROOT);
+    }
+
+    private static String amount(JsonNode value, String currency) {
+        if (value == null || value.isNull() || value.asText().isBlank()) {
+            return null;
+        }
+        String number;
+        try {
+            BigDecimal decimal = new BigDecimal(value.asText().trim().replace(",", ""));
+            number = decimal.stripTrailingZeros().scale() <= 0 ? String.format(Locale.ROOT, "%,d", decimal.longValue()) : decimal.toPlainString();
+        } catch (NumberFormatException e) {
+            number = value.asText().trim();
+        }
+        if (currency == null) {
+            return number;
+        }
+        String symbol = CURRENCY_SYMBOLS.get(currency.toUpperCase(Locale.ROOT));
+        return symbol != null ? symbol + number : number + " " + currency;
+    }
+
+    /** The {@code name} of an object value (Organization, Country), or the value itself if it is plain text. */
+    private static String name(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isArray()) {
+            return node.isEmpty() ? null : name(node.get(0));
+        }
+        return node.isObject() ? text(node.get("name")) : text(node);
+    }
+
+    private static List<JsonNode> asList(JsonNode node) {
+        List<JsonNode> nodes = new ArrayList<>();
+        if (node != null && node.isArray()) {
+            node.forEach(nodes::add);
+        } else if (node != null && !node.isNull()) {
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull() || node.isContainerNode()) {
+            return null;
+        }
+        String text = node.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static void put(Map<String, Object> fields, String field, String value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+}
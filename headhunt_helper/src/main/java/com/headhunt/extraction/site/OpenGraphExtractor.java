@@ -0,0 +1,136 @@
+package com.headhunt.extraction.site;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads OpenGraph tags and the document title. Job boards put the position and company into
+ * {@code og:title} or {@code <title>} in a fixed format per board, so each known board has its
+ * own pattern. Career pages on other hosts usually name the company in {@code og:site_name}, but
+ * so do aggregators and news sites with their own name, so the site name is only taken as the
+ * company when the page reads like the employer's careers site: the title ends in e.g.
+ * "| Hooli Careers", or the host is a {@code careers.} or {@code jobs.} subdomain of a domain
+ * named after it. Otherwise only the position is filled and the model finds the company.
+ */
+@Component
+@Order(2)
+public class OpenGraphExtractor implements SiteExtractor {
+    /** Where to read the title from and which field each capture group holds. */
+    private record TitleFormat(String source, Pattern pattern, List<String> fields) {
+    }
+
+    private static final String TITLE = "title";
+    private static final Map<String, TitleFormat> BOARD_FORMATS = Map.of(
+        // "Acme Robotics hiring Senior Backend Engineer in Boston, MA | LinkedIn"
+        "linkedin.com", new TitleFormat("og:title",
+            Pattern.compile("(.+?) hiring (.+?)(?: in (.+?))? \\| LinkedIn"), List.of("companyName", "position", "location")),
+        // "Acme Robotics - Senior Backend Engineer"
+        "lever.co", new TitleFormat("og:title",
+            Pattern.compile("(.+?) - (.+)"), List.of("companyName", "position")),
+        // "Job Application for Senior Backend Engineer at Acme Robotics"
+        "greenhouse.io", new TitleFormat(TITLE,
+            Pattern.compile("Job Application for (.+) at (.+)"), List.of("position", "companyName")),
+        // "Senior Backend Engineer - Boston, MA - Indeed.com"
+        "indeed.com", new TitleFormat("og:title",
+            Pattern.compile("(.+?) - (.+?) - Indeed\\.com"), List.of("position", "location")),
+        // Workday only carries the position; the company comes from JSON-LD
+        "myworkdayjobs.com", new TitleFormat("og:title",
+            Pattern.compile("(.+)"), List.of("position")));
+    // Trailing " | Acme Careers" or " - Acme" on career-site titles
+    private static final Pattern TITLE_SUFFIX = Pattern.compile("\\s+[|\\-–—]\\s+[^|\\-–—]+$");
+    private static final Pattern CAREERS_WORDING = Pattern.compile("\\b(careers?|jobs?)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final List<String> CAREERS_SUBDOMAINS = List.of("careers", "career", "jobs", "job");
+
+    @Override
+    public String name() {
+        return "open-graph";
+    }
+
+    @Override
+    public boolean supports(String host) {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> extract(SitePage page) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        TitleFormat format = boardFormat(page);
+        if (format != null) {
+            String title = TITLE.equals(format.source()) ? page.title() : page.meta(format.source());
+            Matcher matcher = title == null ? null : format.pattern().matcher(title);
+            if (matcher != null && matcher.matches()) {
+                for (int group = 1; group <= format.fields().size(); group++) {
+                    if (matcher.group(group) != null) {
+                        fields.put(format.fields().get(group - 1), matcher.group(group).trim());
+                    }
+                }
+            }
+        } else {
+            String title = page.meta("og:title");
+            String siteName = page.meta("og:site_name");
+            if (title != null && siteName != null) {
+                if (isEmployerSite(siteName, title, page.host())) {
+                    fields.put("companyName", siteName);
+                }
+                fields.put("position", TITLE_SUFFIX.matcher(title).replaceFirst(""));
+            }
+        }
+        if (!fields.isEmpty()) {
+            String url = page.meta("og:url");
+            if (url != null) {
+                fields.put("jobUrl", url);
+            }
+            String description = SitePage.summary(page.meta("og:description"));
+            if (description != null) {
+                fields.put("notes", description);
+            }
+        }
+        return fields;
+    }
+
+    private static boolean isEmployerSite(String siteName, String title, String host) {
+        String name = squash(siteName);
+        if (name.isEmpty()) {
+            return false;
+        }
+        Matcher suffix = TITLE_SUFFIX.matcher(title);
+        if (suffix.find() && CAREERS_WORDING.matcher(suffix.group()).find() && squash(suffix.group()).contains(name)) {
+            return true;
+        }
+        if (host == null) {
+            return false;
+        }
+        String[] labels = host.split("\\.");
+        if (labels.length < 3 || !CAREERS_SUBDOMAINS.contains(labels[0])) {
+            return false;
+        }
+        for (int i = 1; i < labels.length - 1; i++) {
+            if (squash(labels[i]).equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Lower-cased letters and digits only, so "Hooli Careers" contains "hooli" and "Init-Rode" equals "initrode". */
+    private static String squash(String value) {
+        return NON_ALPHANUMERIC.matcher(value.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    private static TitleFormat boardFormat(SitePage page) {
+        for (Map.Entry<String, TitleFormat> board : BOARD_FORMATS.entrySet()) {
+            if (page.hostMatches(board.getKey())) {
+                return board.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.headhunt.extraction.site;
+
+import java.util.Map;
+
+/**
+ * Reads job fields straight from a page's structured data, without a model call. Extractors
+ * are Spring beans tried by {@link SiteExtractorChain} in {@code @Order}; each returns whatever
+ * fields it can find, using the model's field names ({@code companyName}, {@code position},
+ * {@code location}, {@code salary}, {@code notes}, ...).
+ */
+public interface SiteExtractor {
+    /** Short name used in metrics, logs and the extraction response. */
+    String name();
+
+    /** Whether to try this extractor on pages from {@code host} ({@code null} when the page has no URL marker). */
+    boolean supports(String host);
+
+    /** Fields found on the page, possibly only some of them; empty when the page has none. */
+    Map<String, Object> extract(SitePage page);
+}
@@ -0,0 +1,84 @@
+package com.headhunt.extraction.site;
+
+import com.headhunt.extraction.ExtractionMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tries the {@link SiteExtractor}s that support the page's host, in order, merging their fields
+ * (earlier extractors win). As soon as the required fields are filled the page is done and the
+ * model is not called; otherwise the caller falls back to the model. Each extractor tried is
+ * counted as {@code complete} (it filled the last required field), {@code partial} or
+ * {@code miss}.
+ */
+@Component
+public class SiteExtractorChain {
+    private static final Logger logger = LoggerFactory.getLogger(SiteExtractorChain.class);
+
+    public static final List<String> REQUIRED_FIELDS = List.of("companyName", "position");
+
+    private final List<SiteExtractor> extractors;
+    private final ExtractionMetrics metrics;
+    private final boolean enabled;
+
+    /** Fields read from the page and the extractors that supplied them, e.g. "json-ld+open-graph". */
+    public record SiteExtraction(Map<String, Object> fields, String extractedBy) {
+    }
+
+    @Autowired
+    public SiteExtractorChain(List<SiteExtractor> extractors, ExtractionMetrics metrics,
+                              @Value("${headhunt.extraction.site-extractors.enabled:true}") boolean enabled) {
+        this.extractors = List.copyOf(extractors);
+        this.metrics = metrics;
+        this.enabled = enabled;
+    }
+
+    public Optional<SiteExtraction> extract(String html, String sourceUrl) {
+        if (!enabled || extractors.isEmpty()) {
+            return Optional.empty();
+        }
+        SitePage page = SitePage.scan(html, sourceUrl);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        List<String> contributors = new ArrayList<>();
+        for (SiteExtractor extractor : extractors) {
+            if (!extractor.supports(page.host())) {
+                continue;
+            }
+            Map<String, Object> found;
+            try {
+                found = extractor.extract(page);
+            } catch (RuntimeException e) {
+                logger.warn("Site extractor {} failed on {}", extractor.name(), sourceUrl, e);
+                found = Map.of();
+            }
+            boolean contributed = false;
+            for (Map.Entry<String, Object> field : found.entrySet()) {
+                contributed |= fields.putIfAbsent(field.getKey(), field.getValue()) == null;
+            }
+            if (!contributed) {
+                metrics.recordSiteExtraction(extractor.name(), "miss");
+                continue;
+            }
+            contributors.add(extractor.name());
+            if (fields.keySet().containsAll(REQUIRED_FIELDS)) {
+                metrics.recordSiteExtraction(extractor.name(), "complete");
+                return Optional.of(new SiteExtraction(fields, String.join("+", contributors)));
+            }
+            metrics.recordSiteExtraction(extractor.name(), "partial");
+        }
+        if (!fields.isEmpty()) {
+            logger.debug("Structured data on {} lacks required fields (found {}), falling back to the model",
+                sourceUrl, fields.keySet());
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,219 @@
+package com.headhunt.extraction.site;
+
+import com.headhunt.extraction.HtmlTextExtractor;
+import com.headhunt.util.UrlNormalizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The structured parts of a submitted page that site extractors read: JSON-LD script bodies,
+ * {@code <meta>} tags and the document title. All three are collected in one scan of the HTML
+ * that only looks at {@code <script>}, {@code <meta>} and {@code <title>} tags.
+ */
+public final class SitePage {
+    private static final int MAX_TITLE_LENGTH = 1000;
+    // The model is asked for notes of at most 200 words
+    private static final int SUMMARY_WORDS = 200;
+
+    private final String sourceUrl;
+    private final String host;
+    private final List<String> jsonLd = new ArrayList<>();
+    private final Map<String, String> meta = new HashMap<>();
+    private String title;
+
+    private SitePage(String sourceUrl) {
+        this.sourceUrl = sourceUrl;
+        this.host = UrlNormalizer.host(sourceUrl);
+    }
+
+    public static SitePage scan(String html, String sourceUrl) {
+        SitePage page = new SitePage(sourceUrl);
+        int i = html.indexOf('<');
+        while (i >= 0 && i + 1 < html.length()) {
+            int end = tagEnd(html, i);
+            if (startsTag(html, i, "script")) {
+                int close = indexOfIgnoreCase(html, "</script", end);
+                int bodyEnd = close < 0 ? html.length() : close;
+                String type = attribute(html, i, end, "type");
+                if (type != null && type.trim().equalsIgnoreCase("application/ld+json")) {
+                    page.jsonLd.add(html.substring(end, bodyEnd));
+                }
+                end = bodyEnd;
+            } else if (startsTag(html, i, "meta")) {
+                String key = attribute(html, i, end, "property");
+                if (key == null) {
+                    key = attribute(html, i, end, "name");
+                }
+                String content = attribute(html, i, end, "content");
+                if (key != null && content != null) {
+                    page.meta.putIfAbsent(key.trim().toLowerCase(Locale.ROOT), clean(content));
+                }
+            } else if (page.title == null && startsTag(html, i, "title")) {
+                int close = indexOfIgnoreCase(html, "</title", end);
+                int bodyEnd = close < 0 ? html.length() : close;
+                page.title = clean(html.substring(end, Math.min(bodyEnd, end + MAX_TITLE_LENGTH)));
+                end = bodyEnd;
+            }
+            i = html.indexOf('<', end);
+        }
+        return page;
+    }
+
+    /** URL from the {@code EXTRACTED_URL} marker, or {@code null}. */
+    public String sourceUrl() {
+        return sourceUrl;
+    }
+
+    /** Lower-cased host of the source URL, or {@code null}. */
+    public String host() {
+        return host;
+    }
+
+    /** Whether the page comes from {@code domain} or one of its subdomains. */
+    public boolean hostMatches(String domain) {
+        return host != null && (host.equals(domain) || host.endsWith("." + domain));
+    }
+
+    /** Raw bodies of the page's {@code application/ld+json} scripts, in document order. */
+    public List<String> jsonLd() {
+        return jsonLd;
+    }
+
+    /** Content of the first {@code <meta>} tag with this {@code property} or {@code name}, entity-decoded. */
+    public String meta(String key) {
+        return meta.get(key);
+    }
+
+    /** Text of the page's {@code <title>}, or {@code null}. */
+    public String title() {
+        return title;
+    }
+
+    /** Strips tags and entities from a structured-data value and collapses its whitespace. */
+    static String clean(String value) {
+        String text = text(value);
+        return text == null ? null : text.replace('\n', ' ');
+    }
+
+    /**
+     * Posting description as notes: tags and entities removed (descriptions are often
+     * entity-escaped HTML, so twice), one line per paragraph or list item, and cut to the
+     * length the model would write.
+     */
+    static String summary(String description) {
+        String text = text(description);
+        if (text != null && text.indexOf('<') >= 0) {
+            text = text(text);
+        }
+        if (text == null) {
+            return null;
+        }
+        int words = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if ((text.charAt(i) == ' ' || text.charAt(i) == '\n') && ++words == SUMMARY_WORDS) {
+                return text.substring(0, i) + "...";
+            }
+        }
+        return text;
+    }
+
+    private static String text(String value) {
+        if (value == null) {
+            return null;
+        }
+        String text = HtmlTextExtractor.extract(value, Integer.MAX_VALUE).text();
+        return text.isBlank() ? null : text;
+    }
+
+    private static boolean startsTag(String html, int at, String name) {
+        int after = at + 1 + name.length();
+        if (after >= html.length() || !html.regionMatches(true, at + 1, name, 0, name.length())) {
+            return false;
+        }
+        char next = html.charAt(after);
+        return next == '>' || next == '/' || Character.isWhitespace(next);
+    }
+
+    /** End of the tag starting at {@code start}, honouring quoted attribute values. */
+    private static int tagEnd(String html, int start) {
+        char quote = 0;
+        for (int i = start + 1; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return html.length();
+    }
+
+    /** Value of an attribute of the start tag {@code [start, end)}, or {@code null}. */
+    private static String attribute(String html, int start, int end, String name) {
+        int i = start + 1;
+        while (i < end && !Character.isWhitespace(html.charAt(i))) {
+            i++;
+        }
+        while (i < end) {
+            while (i < end && (Character.isWhitespace(html.charAt(i)) || html.charAt(i) == '/')) {
+                i++;
+            }
+            int nameStart = i;
+            while (i < end && html.charAt(i) != '=' && html.charAt(i) != '>' && !Character.isWhitespace(html.charAt(i))) {
+                i++;
+            }
+            int nameEnd = i;
+            while (i < end && Character.isWhitespace(html.charAt(i))) {
+                i++;
+            }
+            if (i >= end || html.charAt(i) != '=') {
+                if (nameEnd == nameStart) {
+                    i++;
+                }
+                continue;
+            }
+            i++;
+            while (i < end && Character.isWhitespace(html.charAt(i))) {
+                i++;
+            }
+            int valueStart;
+            int valueEnd;
+            if (i < end && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+                char quote = html.charAt(i);
+                valueStart = i + 1;
+                valueEnd = html.indexOf(quote, valueStart);
+                if (valueEnd < 0 || valueEnd > end) {
+                    valueEnd = end;
+                }
+                i = valueEnd + 1;
+            } else {
+                valueStart = i;
+                while (i < end && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '>') {
+                    i++;
+                }
+                valueEnd = i;
+            }
+            if (nameEnd - nameStart == name.length() && html.regionMatches(true, nameStart, name, 0, name.length())) {
+                return html.substring(valueStart, valueEnd);
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfIgnoreCase(String html, String target, int from) {
+        for (int i = html.indexOf('<', from); i >= 0; i = html.indexOf('<', i + 1)) {
+            if (html.regionMatches(true, i, target, 0, target.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
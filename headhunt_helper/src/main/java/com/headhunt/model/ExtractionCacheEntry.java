@@ -0,0 +1,30 @@
+package com.headhunt.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Persistent tier of the extraction cache: the parsed model output for one page, keyed by a
+ * hash of its normalized URL and visible text.
+ */
+@Data
+@Entity
+// Mirrors the index created by V7__extraction_cache_created_at.sql
+@Table(name = "extraction_cache", indexes = {
+    @Index(name = "idx_extraction_cache_created_at", columnList = "createdAt")
+})
+public class ExtractionCacheEntry {
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String fieldsJson;
+
+    @Column
+    private Long applicationId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
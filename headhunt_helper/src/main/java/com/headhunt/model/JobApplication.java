@@ -1,17 +1,33 @@
 package com.headhunt.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.headhunt.util.UrlNormalizer;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "job_applications")
+// Mirrors the indexes created by the Flyway migrations in db/migration
+@Table(name = "job_applications", indexes = {
+    @Index(name = "ux_job_applications_job_url_key", columnList = "jobUrlKey", unique = true),
+    @Index(name = "idx_job_applications_status_applied", columnList = "status, appliedTime"),
+    @Index(name = "idx_job_applications_applied_time", columnList = "appliedTime, id"),
+    @Index(name = "idx_job_applications_company_name", columnList = "companyName")
+})
+// UPDATEs name only the changed columns, so a status change does not rewrite notes
+@DynamicUpdate
 public class JobApplication {
+    // Table-backed ids are allocated in blocks before the INSERT, which (unlike IDENTITY)
+    // lets Hibernate batch inserts. The generator row is seeded by V2__id_generators.sql.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "job_applications_id")
+    @TableGenerator(name = "job_applications_id", table = "id_generators",
+        pkColumnName = "generator_name", valueColumnName = "next_val",
+        pkColumnValue = "job_applications", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -26,6 +42,15 @@ public class JobApplication {
     @Column(length = 1000)
     private String jobWebsite;
 
+    // SHA-256 of the normalized jobUrl; null when the URL is not an http(s) URL
+    @JsonIgnore
+    @Column(length = 64)
+    private String jobUrlKey;
+
+    // Set when a fuzzy duplicate of an existing application was flagged instead of merged
+    @Column
+    private Long duplicateOf;
+
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private ApplicationStatus status;
@@ -51,8 +76,44 @@ public class JobApplication {
     @Column(length = 255)
     private String contactEmail;
 
+    // Checked and incremented by every UPDATE; a stale value fails the write with a 409
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         appliedTime = LocalDateTime.now();
+        jobUrlKey = UrlNormalizer.key(jobUrl);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        jobUrlKey = UrlNormalizer.key(jobUrl);
+    }
+
+    /**
+     * Detached field-by-field copy, for in-memory structures that must not share mutable
+     * state with a managed entity.
+     */
+    public JobApplication copy() {
+        JobApplication copy = new JobApplication();
+        copy.setId(id);
+        copy.setCompanyName(companyName);
+        copy.setPosition(position);
+        copy.setJobUrl(jobUrl);
+        copy.setJobWebsite(jobWebsite);
+        copy.setJobUrlKey(jobUrlKey);
+        copy.setDuplicateOf(duplicateOf);
+        copy.setStatus(status);
+        copy.setAppliedTime(appliedTime);
+        copy.setAppliedDate(appliedDate);
+        copy.setNotes(notes);
+        copy.setLocation(location);
+        copy.setSalary(salary);
+        copy.setContactPerson(contactPerson);
+        copy.setContactEmail(contactEmail);
+        copy.setVersion(version);
+        return copy;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.headhunt.repository;
+
+import com.headhunt.model.ExtractionCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ExtractionCacheRepository extends JpaRepository<ExtractionCacheEntry, String> {
+    @Modifying
+    @Transactional
+    @Query("delete from ExtractionCacheEntry e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Conditional, so an entry re-written since it was read as expired is kept
+    @Modifying
+    @Transactional
+    @Query("delete from ExtractionCacheEntry e where e.cacheKey = :key and e.createdAt < :cutoff")
+    int deleteIfCreatedBefore(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,15 +1,81 @@
 package com.headhunt.repository;
 
+import com.headhunt.dto.ApplicationSummary;
 import com.headhunt.model.JobApplication;
 import com.headhunt.model.ApplicationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
+    String STREAM_FETCH_SIZE = "500";
+    String SELECT_SUMMARY = "select new com.headhunt.dto.ApplicationSummary(a.id, a.companyName, a.position, " +
+                            "a.status, a.appliedTime, a.location, a.salary, a.jobUrl, a.duplicateOf) " +
+                            "from JobApplication a ";
+
     List<JobApplication> findByCompanyNameContainingIgnoreCase(String companyName);
     List<JobApplication> findByPositionContainingIgnoreCase(String position);
     List<JobApplication> findByStatus(ApplicationStatus status);
-} 
\ No newline at end of file
+    Optional<JobApplication> findByJobUrlKey(String jobUrlKey);
+
+    // Keyset pagination by id, oldest first
+    List<JobApplication> findAllByOrderByIdAsc(Pageable pageable);
+    List<JobApplication> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Keyset pagination by appliedTime, newest first; id breaks ties between equal timestamps
+    List<JobApplication> findAllByOrderByAppliedTimeDescIdDesc(Pageable pageable);
+
+    @Query("select a from JobApplication a " +
+           "where a.appliedTime < :appliedTime or (a.appliedTime = :appliedTime and a.id < :id) " +
+           "order by a.appliedTime desc, a.id desc")
+    List<JobApplication> findPageAppliedBefore(@Param("appliedTime") LocalDateTime appliedTime,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    // Summary projections: same orderings as above, selecting only the list-view columns
+    @Query(SELECT_SUMMARY + "order by a.id")
+    List<ApplicationSummary> findAllSummaries();
+
+    @Query(SELECT_SUMMARY + "where a.status = :status order by a.appliedTime desc, a.id desc")
+    List<ApplicationSummary> findSummariesByStatus(@Param("status") ApplicationStatus status);
+
+    @Query(SELECT_SUMMARY + "where a.id > :id order by a.id")
+    List<ApplicationSummary> findSummaryPageAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "order by a.appliedTime desc, a.id desc")
+    List<ApplicationSummary> findSummaryPageByAppliedTime(Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+           "where a.appliedTime < :appliedTime or (a.appliedTime = :appliedTime and a.id < :id) " +
+           "order by a.appliedTime desc, a.id desc")
+    List<ApplicationSummary> findSummaryPageAppliedBefore(@Param("appliedTime") LocalDateTime appliedTime,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    // Must be consumed inside a transaction and closed by the caller
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select a from JobApplication a order by a.id")
+    Stream<JobApplication> streamAll();
+
+    // Export filters; null parameters match everything. Same cursor and ownership rules as streamAll()
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select a from JobApplication a " +
+           "where (:status is null or a.status = :status) " +
+           "and (:appliedFrom is null or a.appliedTime >= :appliedFrom) " +
+           "and (:appliedBefore is null or a.appliedTime < :appliedBefore) " +
+           "order by a.id")
+    Stream<JobApplication> streamFiltered(@Param("status") ApplicationStatus status,
+                                          @Param("appliedFrom") LocalDateTime appliedFrom,
+                                          @Param("appliedBefore") LocalDateTime appliedBefore);
+}
@@ -0,0 +1,39 @@
+package com.headhunt.search;
+
+import com.headhunt.model.JobApplication;
+
+import java.util.function.Function;
+
+/**
+ * Fields covered by the {@link SearchIndex}, with the weight a match in each contributes to
+ * the ranking. Short fields are indexed with infix trigrams; notes only with word prefixes
+ * to keep the postings for 4000-char bodies small.
+ */
+public enum SearchField {
+    COMPANY(3.0, true, JobApplication::getCompanyName),
+    POSITION(3.0, true, JobApplication::getPosition),
+    LOCATION(1.5, true, JobApplication::getLocation),
+    NOTES(1.0, false, JobApplication::getNotes);
+
+    private final double weight;
+    private final boolean infix;
+    private final Function<JobApplication, String> accessor;
+
+    SearchField(double weight, boolean infix, Function<JobApplication, String> accessor) {
+        this.weight = weight;
+        this.infix = infix;
+        this.accessor = accessor;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public boolean isInfix() {
+        return infix;
+    }
+
+    public String valueOf(JobApplication application) {
+        return accessor.apply(application);
+    }
+}
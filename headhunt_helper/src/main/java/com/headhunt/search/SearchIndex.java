@@ -0,0 +1,305 @@
+package com.headhunt.search;
+
+import com.headhunt.events.ApplicationChangeEvent;
+import com.headhunt.model.JobApplication;
+import com.headhunt.storage.ApplicationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the searchable {@link SearchField}s of every job application.
+ * Text is case- and accent-folded and split into word tokens; each token contributes 1-3 char
+ * prefix keys and, for infix fields, its trigrams. A query is answered by looking up candidates
+ * for its most selective token and verifying all tokens against the stored token lists, so no
+ * query ever reaches the database.
+ *
+ * <p>Kept current from committed {@link ApplicationChangeEvent}s (and, in memory storage mode, by
+ * the store itself), and rebuilt from the {@link ApplicationStore} at startup. Writes that roll
+ * back never reach the index.
+ */
+@Component
+public class SearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+    private static final int GRAM_LENGTH = 3;
+    private static final String PREFIX_MARKER = "^";
+
+    private static final double EXACT_SCORE = 10;
+    private static final double PREFIX_SCORE = 5;
+    private static final double INFIX_SCORE = 2;
+
+    private final ApplicationStore store;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    @Autowired
+    public SearchIndex(ApplicationStore store) {
+        this.store = store;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<JobApplication> applications = store.findAll();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            for (JobApplication application : applications) {
+                add(application);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Search index built with {} applications and {} keys in {} ms",
+            applications.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Runs after the writing transaction commits, or immediately when there is none. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ApplicationChangeEvent change) {
+        if (change.type() == ApplicationChangeEvent.Type.DELETED) {
+            remove(change.id());
+        } else {
+            index(change.application());
+        }
+    }
+
+    public void index(JobApplication application) {
+        if (application.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(application.getId());
+            add(application);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<JobApplication> search(String query, int limit) {
+        return search(query, EnumSet.allOf(SearchField.class), limit);
+    }
+
+    /**
+     * Returns the applications matching every token of {@code query} in at least one of the given
+     * fields, best match first. Exact token matches outrank prefix matches, which outrank infix
+     * matches; each is scaled by the field weight.
+     */
+    public List<JobApplication> search(String query, Set<SearchField> fields, int limit) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Collection<Long> candidates = null;
+            for (String token : queryTokens) {
+                Collection<Long> tokenCandidates = candidatesFor(token, fields);
+                if (candidates == null || tokenCandidates.size() < candidates.size()) {
+                    candidates = tokenCandidates;
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<ScoredDocument> matches = new ArrayList<>();
+            for (Long id : candidates) {
+                IndexedDocument document = documents.get(id);
+                double score = score(document, queryTokens, fields);
+                if (score > 0) {
+                    matches.add(new ScoredDocument(document.application(), score));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(ScoredDocument::score).reversed()
+                .thenComparing(match -> match.application().getId(), Comparator.reverseOrder()));
+
+            List<JobApplication> results = new ArrayList<>(Math.min(limit, matches.size()));
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                results.add(matches.get(i).application());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private void add(JobApplication application) {
+        JobApplication snapshot = application.copy();
+        SearchField[] fields = SearchField.values();
+        String[][] fieldTokens = new String[fields.length][];
+        Set<String> keys = new LinkedHashSet<>();
+        for (SearchField field : fields) {
+            String[] tokens = new LinkedHashSet<>(tokenize(field.valueOf(snapshot))).toArray(new String[0]);
+            fieldTokens[field.ordinal()] = tokens;
+            for (String token : tokens) {
+                for (int length = 1; length <= Math.min(GRAM_LENGTH, token.length()); length++) {
+                    keys.add(PREFIX_MARKER + token.substring(0, length));
+                }
+                if (field.isInfix()) {
+                    for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                        keys.add(token.substring(i, i + GRAM_LENGTH));
+                    }
+                }
+            }
+        }
+
+        long id = snapshot.getId();
+        for (String key : keys) {
+            postings.computeIfAbsent(key, k -> new PostingList()).add(id);
+        }
+        documents.put(id, new IndexedDocument(snapshot, fieldTokens, keys.toArray(new String[0])));
+    }
+
+    private void removeDocument(Long id) {
+        IndexedDocument existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String key : existing.keys()) {
+            PostingList list = postings.get(key);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private Collection<Long> candidatesFor(String token, Set<SearchField> fields) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        // Prefix matches in any field
+        addAll(candidates, postings.get(PREFIX_MARKER + token.substring(0, Math.min(GRAM_LENGTH, token.length()))));
+        // Infix matches in trigram-indexed fields
+        if (token.length() >= GRAM_LENGTH && fields.stream().anyMatch(SearchField::isInfix)) {
+            List<PostingList> gramLists = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                PostingList list = postings.get(token.substring(i, i + GRAM_LENGTH));
+                if (list == null) {
+                    return candidates;
+                }
+                gramLists.add(list);
+            }
+            gramLists.sort(Comparator.comparingInt(PostingList::size));
+            PostingList smallest = gramLists.get(0);
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+                boolean inAll = true;
+                for (int j = 1; j < gramLists.size() && inAll; j++) {
+                    inAll = gramLists.get(j).contains(id);
+                }
+                if (inAll) {
+                    candidates.add(id);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static void addAll(Set<Long> target, PostingList list) {
+        if (list == null) {
+            return;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            target.add(list.get(i));
+        }
+    }
+
+    private static double score(IndexedDocument document, List<String> queryTokens, Set<SearchField> fields) {
+        double total = 0;
+        for (String queryToken : queryTokens) {
+            double tokenScore = 0;
+            for (SearchField field : fields) {
+                double best = 0;
+                for (String token : document.fieldTokens()[field.ordinal()]) {
+                    if (token.equals(queryToken)) {
+                        best = EXACT_SCORE;
+                        break;
+                    } else if (token.startsWith(queryToken)) {
+                        best = Math.max(best, PREFIX_SCORE);
+                    } else if (field.isInfix() && token.contains(queryToken)) {
+                        best = Math.max(best, INFIX_SCORE);
+                    }
+                }
+                tokenScore += best * field.getWeight();
+            }
+            if (tokenScore == 0) {
+                return 0;
+            }
+            total += tokenScore;
+        }
+        return total;
+    }
+
+    private record IndexedDocument(JobApplication application, String[][] fieldTokens, String[] keys) {
+    }
+
+    private record ScoredDocument(JobApplication application, double score) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.headhunt.service;
+
+import com.headhunt.config.CacheConfig;
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+import com.headhunt.util.TransactionHooks;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts exactly the cache entries a write affects: the application's own entry and the
+ * per-status lists it leaves or joins. No-op when caching is disabled. Inside a transaction the
+ * caches are only touched after commit, so a rollback never leaves an entry behind.
+ */
+@Component
+public class ApplicationCacheInvalidator {
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    @Autowired
+    public ApplicationCacheInvalidator(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void saved(JobApplication saved, ApplicationStatus previousStatus) {
+        // A copy, since the saved instance may be a managed entity still open to changes
+        JobApplication snapshot = saved.copy();
+        TransactionHooks.afterCommit(() -> {
+            Cache byId = cache(CacheConfig.APPLICATIONS_BY_ID);
+            if (byId != null) {
+                byId.put(snapshot.getId(), snapshot);
+            }
+            evictStatus(previousStatus);
+            if (snapshot.getStatus() != previousStatus) {
+                evictStatus(snapshot.getStatus());
+            }
+        });
+    }
+
+    public void deleted(Long id, ApplicationStatus status) {
+        TransactionHooks.afterCommit(() -> {
+            Cache byId = cache(CacheConfig.APPLICATIONS_BY_ID);
+            if (byId != null) {
+                byId.evict(id);
+            }
+            evictStatus(status);
+        });
+    }
+
+    private void evictStatus(ApplicationStatus status) {
+        Cache byStatus = cache(CacheConfig.APPLICATIONS_BY_STATUS);
+        if (byStatus != null && status != null) {
+            byStatus.evict(status);
+        }
+    }
+
+    private Cache cache(String name) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        return manager == null ? null : manager.getCache(name);
+    }
+}
@@ -0,0 +1,160 @@
+package com.headhunt.service;
+
+import com.headhunt.extraction.ExtractionContext;
+import com.headhunt.model.JobApplication;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ingests many captured pages in one request. Pages are pulled lazily from the caller's
+ * iterator, extracted concurrently with a bounded number in flight, and the resulting
+ * applications are saved in batches through {@link JobApplicationService#createApplications},
+ * so inserts are JDBC-batched and the CSV export is updated once per batch rather than per row.
+ */
+@Service
+public class BulkIngestionService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestionService.class);
+
+    private final JobExtractorService jobExtractorService;
+    private final JobApplicationService jobApplicationService;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final int batchSize;
+
+    @Autowired
+    public BulkIngestionService(JobExtractorService jobExtractorService,
+                                JobApplicationService jobApplicationService,
+                                @Value("${headhunt.bulk.workers:4}") int workers,
+                                @Value("${headhunt.bulk.batch-size:50}") int batchSize) {
+        this.jobExtractorService = jobExtractorService;
+        this.jobApplicationService = jobApplicationService;
+        this.maxInFlight = workers * 2;
+        this.batchSize = batchSize;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-extraction-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Extracts and saves every page, returning one result per page in input order: the usual
+     * extraction response plus its {@code index}, or {@code index} and {@code error}.
+     */
+    public List<Map<String, Object>> ingest(Iterator<String> pages) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        Deque<PendingPage> inFlight = new ArrayDeque<>();
+        List<ExtractedPage> batch = new ArrayList<>(batchSize);
+
+        int index = 0;
+        while (pages.hasNext()) {
+            String html = pages.next();
+            inFlight.add(new PendingPage(index++, executor.submit(() -> jobExtractorService.extractJob(html))));
+            if (inFlight.size() >= maxInFlight) {
+                collect(inFlight.removeFirst(), batch, results);
+            }
+            if (batch.size() >= batchSize) {
+                persist(batch, results);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            collect(inFlight.removeFirst(), batch, results);
+            if (batch.size() >= batchSize) {
+                persist(batch, results);
+            }
+        }
+        persist(batch, results);
+
+        results.sort((a, b) -> Integer.compare((Integer) a.get("index"), (Integer) b.get("index")));
+        logger.info("Bulk ingestion processed {} pages", results.size());
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void collect(PendingPage pending, List<ExtractedPage> batch, List<Map<String, Object>> results) {
+        try {
+            batch.add(new ExtractedPage(pending.index(), pending.future().get()));
+        } catch (ExecutionException e) {
+            logger.warn("Bulk extraction of page {} failed: {}", pending.index(), e.getCause().getMessage());
+            results.add(error(pending.index(), e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during bulk ingestion", e);
+        }
+    }
+
+    private void persist(List<ExtractedPage> batch, List<Map<String, Object>> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ExtractedPage> toInsert = new ArrayList<>();
+        for (ExtractedPage page : batch) {
+            if (page.context().getExistingApplication().isPresent()) {
+                results.add(complete(page, page.context().getExistingApplication().get()));
+            } else {
+                toInsert.add(page);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            List<JobApplication> applications = new ArrayList<>(toInsert.size());
+            for (ExtractedPage page : toInsert) {
+                applications.add(page.context().getApplication());
+            }
+            try {
+                List<JobApplication> saved = jobApplicationService.createApplications(applications);
+                for (int i = 0; i < toInsert.size(); i++) {
+                    results.add(complete(toInsert.get(i), saved.get(i)));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to save batch of {} applications", toInsert.size(), e);
+                for (ExtractedPage page : toInsert) {
+                    results.add(error(page.index(), "Failed to save: " + e.getMessage()));
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private Map<String, Object> complete(ExtractedPage page, JobApplication saved) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", page.index());
+        result.putAll(jobExtractorService.completeJob(page.context(), saved));
+        return result;
+    }
+
+    private static Map<String, Object> error(int index, String message) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("error", message);
+        return result;
+    }
+
+    private record PendingPage(int index, Future<ExtractionContext> future) {
+    }
+
+    private record ExtractedPage(int index, ExtractionContext context) {
+    }
+}
@@ -1,50 +1,333 @@
 package com.headhunt.service;
 
 import com.headhunt.model.JobApplication;
+import com.headhunt.storage.ApplicationStore;
+import com.headhunt.util.CsvFormat;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import java.io.FileWriter;
+
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Keeps {@code job_applications.csv} in sync with the database off the request path.
+ * Changes are queued by {@link #recordUpsert} / {@link #recordDelete}, coalesced per id and
+ * flushed in batches by a single background thread. New rows are appended to the file. An
+ * update or delete rewrites the file in place from the first changed row onwards, using the
+ * cached, pre-formatted rows to find its byte offset; since rows are ordered by id, edits to
+ * recent applications only touch the end of the file. When the changed tail is more than half
+ * the file, or the file no longer has the size this service last wrote, the whole file is
+ * rewritten into a temp file that is then atomically renamed over the old one.
+ */
 @Service
 public class CsvExportService {
-    private static final String CSV_FILE_PATH = "job_applications.csv";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-    public void exportToCsv(List<JobApplication> applications) {
-        try (FileWriter writer = new FileWriter(CSV_FILE_PATH)) {
-            // Write header
-            writer.write("ID,Company Name,Position,Job URL,Job Website,Status,Applied Time,Location,Salary,Contact Person,Contact Email,Notes\n");
-
-            // Write data
-            for (JobApplication app : applications) {
-                writer.write(String.format("%d,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s\n",
-                    app.getId(),
-                    escapeCsvField(app.getCompanyName()),
-                    escapeCsvField(app.getPosition()),
-                    escapeCsvField(app.getJobUrl()),
-                    escapeCsvField(app.getJobWebsite()),
-                    app.getStatus(),
-                    app.getAppliedTime().format(DATE_FORMATTER),
-                    escapeCsvField(app.getLocation()),
-                    escapeCsvField(app.getSalary()),
-                    escapeCsvField(app.getContactPerson()),
-                    escapeCsvField(app.getContactEmail()),
-                    escapeCsvField(app.getNotes())
-                ));
+    private static final Logger logger = LoggerFactory.getLogger(CsvExportService.class);
+
+    private final ApplicationStore store;
+    private final Path csvPath;
+    private final int batchSize;
+
+    private static final byte[] HEADER = CsvFormat.HEADER.getBytes(StandardCharsets.UTF_8);
+
+    private final BlockingQueue<ExportChange> pendingChanges = new LinkedBlockingQueue<>();
+    // Enqueue time of the oldest change in the batch being flushed, 0 when idle
+    private volatile long flushingSinceNanos = 0;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "csv-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // UTF-8 encoded CSV lines keyed by id, and the size of the file they were written to; guarded by "this"
+    private final NavigableMap<Long, byte[]> rows = new TreeMap<>();
+    private long fileLength = 0;
+    private boolean rewriteRequired = false;
+    private volatile boolean initialized = false;
+
+    private final Timer appendTimer;
+    private final Timer patchTimer;
+    private final Timer rewriteTimer;
+
+    @Autowired
+    public CsvExportService(ApplicationStore store,
+                            MeterRegistry meterRegistry,
+                            @Value("${headhunt.export.csv-path:job_applications.csv}") String csvPath,
+                            @Value("${headhunt.export.batch-size:1000}") int batchSize,
+                            @Value("${headhunt.export.flush-interval-ms:500}") long flushIntervalMs) {
+        this.store = store;
+        this.csvPath = Paths.get(csvPath).toAbsolutePath();
+        this.batchSize = batchSize;
+
+        Gauge.builder("headhunt.export.queue.depth", pendingChanges, BlockingQueue::size)
+            .description("Job application changes waiting to be written to the CSV export")
+            .register(meterRegistry);
+        TimeGauge.builder("headhunt.export.lag", this, TimeUnit.NANOSECONDS, CsvExportService::currentLagNanos)
+            .description("Age of the oldest change not yet written to the CSV export")
+            .register(meterRegistry);
+        this.appendTimer = Timer.builder("headhunt.export.flush").tag("mode", "append").register(meterRegistry);
+        this.patchTimer = Timer.builder("headhunt.export.flush").tag("mode", "patch").register(meterRegistry);
+        this.rewriteTimer = Timer.builder("headhunt.export.flush").tag("mode", "rewrite").register(meterRegistry);
+
+        executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        executor.execute(() -> {
+            try {
+                exportToCsv(store.findAll());
+                initialized = true;
+                logger.info("Initial CSV export written to {}", csvPath);
+            } catch (Exception e) {
+                logger.error("Initial CSV export failed, incremental export disabled until the next restart", e);
+            }
+        });
+    }
+
+    public void recordUpsert(JobApplication application) {
+        pendingChanges.add(new ExportChange(application.getId(), formatRow(application), System.nanoTime()));
+    }
+
+    public void recordUpserts(List<JobApplication> applications) {
+        for (JobApplication application : applications) {
+            recordUpsert(application);
+        }
+    }
+
+    public void recordDelete(Long id) {
+        pendingChanges.add(new ExportChange(id, null, System.nanoTime()));
+    }
+
+    /**
+     * Rewrites the whole export from the given list. Used at startup and whenever the caller
+     * already holds the full table; regular writes should go through {@link #recordUpsert}.
+     */
+    public synchronized void exportToCsv(List<JobApplication> applications) {
+        rows.clear();
+        for (JobApplication app : applications) {
+            rows.put(app.getId(), formatRow(app));
+        }
+        rewriteFile();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (initialized) {
+            while (!pendingChanges.isEmpty()) {
+                flush();
+            }
+        }
+    }
+
+    private double currentLagNanos() {
+        long oldest = flushingSinceNanos;
+        if (oldest == 0) {
+            ExportChange head = pendingChanges.peek();
+            if (head == null) {
+                return 0;
+            }
+            oldest = head.enqueuedNanos();
+        }
+        return System.nanoTime() - oldest;
+    }
+
+    private void flushSafely() {
+        if (!initialized) {
+            return;
+        }
+        try {
+            while (!pendingChanges.isEmpty()) {
+                flush();
+            }
+        } catch (Exception e) {
+            // Never let an exception escape: it would cancel the scheduled task for good
+            logger.error("Incremental CSV export failed, falling back to a full rewrite on the next change", e);
+            synchronized (this) {
+                rewriteRequired = true;
+            }
+        }
+    }
+
+    private synchronized void flush() {
+        // Only this thread drains the queue, so the head is the first change of the batch
+        ExportChange head = pendingChanges.peek();
+        if (head == null) {
+            return;
+        }
+        if (rewriteRequired) {
+            // The cached rows may not match the file after a failed flush; reload them before draining,
+            // so a failed reload leaves the queued changes for the next attempt
+            rows.clear();
+            rows.putAll(loadAllRows());
+        }
+        flushingSinceNanos = head.enqueuedNanos();
+        try {
+            List<ExportChange> batch = new ArrayList<>(Math.min(batchSize, pendingChanges.size()));
+            pendingChanges.drainTo(batch, batchSize);
+            apply(batch);
+        } finally {
+            flushingSinceNanos = 0;
+        }
+    }
+
+    private void apply(List<ExportChange> batch) {
+        // Last change per id wins
+        Map<Long, ExportChange> coalesced = new LinkedHashMap<>();
+        for (ExportChange change : batch) {
+            coalesced.put(change.id(), change);
+        }
+
+        // Rows above the highest existing id can be appended; anything else changes the file from
+        // the lowest such id onwards
+        long highestExistingId = rows.isEmpty() ? Long.MIN_VALUE : rows.lastKey();
+        Long firstChangedId = null;
+        for (ExportChange change : coalesced.values()) {
+            byte[] previous = rows.get(change.id());
+            boolean unchanged = change.line() == null ? previous == null : Arrays.equals(previous, change.line());
+            if (!unchanged && (previous != null || change.id() <= highestExistingId)
+                    && (firstChangedId == null || change.id() < firstChangedId)) {
+                firstChangedId = change.id();
+            }
+        }
+        long tailOffset = fileLength;
+        if (firstChangedId != null) {
+            for (byte[] line : rows.tailMap(firstChangedId, true).values()) {
+                tailOffset -= line.length;
+            }
+        }
+
+        for (ExportChange change : coalesced.values()) {
+            if (change.line() == null) {
+                rows.remove(change.id());
+            } else {
+                rows.put(change.id(), change.line());
+            }
+        }
+
+        String mode;
+        if (rewriteRequired || !fileMatchesRows()) {
+            mode = "rewrite";
+        } else if (firstChangedId == null) {
+            mode = "append";
+        } else {
+            mode = fileLength - tailOffset > fileLength / 2 ? "rewrite" : "patch";
+        }
+        switch (mode) {
+            case "append" -> {
+                Collection<byte[]> appended = rows.tailMap(highestExistingId, false).values();
+                if (!appended.isEmpty()) {
+                    appendTimer.record(() -> writeFrom(fileLength, appended));
+                }
+            }
+            case "patch" -> {
+                long offset = tailOffset;
+                Collection<byte[]> tail = rows.tailMap(firstChangedId, true).values();
+                patchTimer.record(() -> writeFrom(offset, tail));
             }
+            default -> {
+                rewriteTimer.record(this::rewriteFile);
+                rewriteRequired = false;
+            }
+        }
+        logger.debug("Flushed {} CSV export changes ({} after coalescing, mode: {})",
+            batch.size(), coalesced.size(), mode);
+    }
+
+    private boolean fileMatchesRows() {
+        try {
+            return Files.exists(csvPath) && Files.size(csvPath) == fileLength;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Overwrites the file from the given byte offset with the given lines and cuts off whatever followed. */
+    private void writeFrom(long offset, Collection<byte[]> lines) {
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.WRITE)) {
+            channel.position(offset);
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            for (byte[] line : lines) {
+                out.write(line);
+            }
+            out.flush();
+            channel.truncate(channel.position());
+            fileLength = channel.position();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update CSV file", e);
+        }
+    }
+
+    private void rewriteFile() {
+        try {
+            Path directory = csvPath.getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, csvPath.getFileName().toString(), ".tmp");
+            long length = HEADER.length;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                out.write(HEADER);
+                for (byte[] line : rows.values()) {
+                    out.write(line);
+                    length += line.length;
+                }
+            }
+            Files.move(tempFile, csvPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            fileLength = length;
         } catch (IOException e) {
             throw new RuntimeException("Failed to write CSV file", e);
         }
     }
 
-    private String escapeCsvField(String field) {
-        if (field == null) return "";
-        // If field contains comma, quote, or newline, wrap in quotes and escape existing quotes
-        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
+    private Map<Long, byte[]> loadAllRows() {
+        Map<Long, byte[]> loaded = new TreeMap<>();
+        for (JobApplication app : store.findAll()) {
+            loaded.put(app.getId(), formatRow(app));
         }
-        return field;
+        return loaded;
+    }
+
+    private byte[] formatRow(JobApplication app) {
+        return CsvFormat.formatRow(app).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** A formatted row, or a delete when {@code line} is null. */
+    private record ExportChange(Long id, byte[] line, long enqueuedNanos) {
     }
-} 
\ No newline at end of file
+}
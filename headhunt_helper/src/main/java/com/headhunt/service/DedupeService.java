@@ -0,0 +1,140 @@
+package com.headhunt.service;
+
+import com.headhunt.dedupe.ApplicationMerger;
+import com.headhunt.dedupe.DedupeIndex;
+import com.headhunt.dedupe.DuplicateMatch;
+import com.headhunt.dto.DedupeReport;
+import com.headhunt.model.JobApplication;
+import com.headhunt.storage.ApplicationStore;
+import com.headhunt.util.UrlNormalizer;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Cleans up duplicates that were saved before insert-time detection existed. Walks the table
+ * once in id order, so the oldest application of each group is the one kept, and resolves
+ * every later one through {@link DedupeIndex#findDuplicate}: URL duplicates and, in merge mode,
+ * fuzzy duplicates are merged into the kept row and deleted; in flag mode fuzzy duplicates get
+ * {@code duplicateOf} set. Rows whose stored URL key is missing or stale are backfilled.
+ */
+@Service
+public class DedupeService {
+    private static final Logger logger = LoggerFactory.getLogger(DedupeService.class);
+
+    private final JobApplicationService jobApplicationService;
+    private final ApplicationStore store;
+    private final DedupeIndex dedupeIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean cleanupOnStartup;
+
+    @Autowired
+    public DedupeService(JobApplicationService jobApplicationService,
+                         ApplicationStore store,
+                         DedupeIndex dedupeIndex,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${headhunt.dedupe.cleanup-on-startup:false}") boolean cleanupOnStartup) {
+        this.jobApplicationService = jobApplicationService;
+        this.store = store;
+        this.dedupeIndex = dedupeIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cleanupOnStartup = cleanupOnStartup;
+    }
+
+    // Runs after DedupeIndex has been rebuilt
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(DedupeIndex.REBUILD_ORDER + 1)
+    public void cleanupAtStartup() {
+        if (cleanupOnStartup && dedupeIndex.isEnabled()) {
+            DedupeReport report = cleanup(false);
+            logger.info("Startup duplicate cleanup merged {} groups, flagged {}, backfilled {} URL keys",
+                report.merged().size(), report.flagged().size(), report.backfilled());
+        }
+    }
+
+    public synchronized DedupeReport cleanup(boolean dryRun) {
+        Map<Long, List<Long>> mergeGroups = new TreeMap<>();
+        Map<Long, Long> flagged = new TreeMap<>();
+        List<Long> backfill = new ArrayList<>();
+        Map<Long, Long> mergedInto = new LinkedHashMap<>();
+        long[] scanned = {0};
+
+        jobApplicationService.streamApplications(application -> {
+            scanned[0]++;
+            Optional<DuplicateMatch> duplicate = dedupeIndex.findDuplicate(application);
+            if (duplicate.isPresent() && duplicate.get().existingId() < application.getId()) {
+                DuplicateMatch match = duplicate.get();
+                // Chains collapse onto the first application of the group
+                long keptId = mergedInto.getOrDefault(match.existingId(), match.existingId());
+                if (match.action() == DuplicateMatch.Action.MERGE) {
+                    mergeGroups.computeIfAbsent(keptId, id -> new ArrayList<>()).add(application.getId());
+                    mergedInto.put(application.getId(), keptId);
+                    return;
+                }
+                if (!Objects.equals(application.getDuplicateOf(), keptId)) {
+                    flagged.put(application.getId(), keptId);
+                }
+            }
+            if (!Objects.equals(application.getJobUrlKey(), UrlNormalizer.key(application.getJobUrl()))) {
+                backfill.add(application.getId());
+            }
+        });
+
+        List<DedupeReport.MergedGroup> merged = new ArrayList<>();
+        mergeGroups.forEach((keptId, removedIds) -> merged.add(new DedupeReport.MergedGroup(keptId, removedIds)));
+        backfill.removeIf(mergeGroups::containsKey);
+        if (!dryRun) {
+            merged.forEach(group -> transactionTemplate.executeWithoutResult(status -> mergeGroup(group)));
+            flagged.forEach((id, duplicateOf) -> store.findById(id).ifPresent(application -> {
+                JobApplication update = application.copy();
+                update.setDuplicateOf(duplicateOf);
+                jobApplicationService.updateApplication(id, update);
+            }));
+            backfill.forEach(id -> store.findById(id).ifPresent(application -> {
+                JobApplication update = application.copy();
+                update.setJobUrlKey(UrlNormalizer.key(update.getJobUrl()));
+                jobApplicationService.updateApplication(id, update);
+            }));
+        }
+        logger.info("Duplicate cleanup{} scanned {} applications: {} merge groups, {} flagged, {} URL keys backfilled",
+            dryRun ? " (dry run)" : "", scanned[0], merged.size(), flagged.size(), backfill.size());
+        return new DedupeReport(dryRun, scanned[0], merged, flagged, backfill.size());
+    }
+
+    private void mergeGroup(DedupeReport.MergedGroup group) {
+        Optional<JobApplication> kept = store.findById(group.keptId());
+        if (kept.isEmpty()) {
+            return;
+        }
+        JobApplication merged = kept.get().copy();
+        for (Long removedId : group.removedIds()) {
+            Optional<JobApplication> duplicate = store.findById(removedId);
+            if (duplicate.isPresent()) {
+                merged = ApplicationMerger.merge(merged, duplicate.get());
+                jobApplicationService.deleteApplication(removedId);
+            }
+        }
+        // Deletes must reach the database before the kept row takes over their URL key
+        entityManager.flush();
+        jobApplicationService.updateApplication(group.keptId(), merged);
+    }
+}
@@ -0,0 +1,176 @@
+package com.headhunt.service;
+
+import com.headhunt.client.UpstreamUnavailableException;
+import com.headhunt.dto.ExtractionJob;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs HTML extractions on a bounded worker pool so the servlet thread returns immediately.
+ * The pool has a fixed number of workers and a bounded queue; once both are full new
+ * submissions are rejected with {@link java.util.concurrent.RejectedExecutionException}, which
+ * the controller turns into a 429 so clients back off instead of piling up work. Jobs that
+ * fail because the model API is unavailable are deferred and put back on the queue once the
+ * upstream client says it is worth retrying. A deferred job keeps its place: every accepted job
+ * holds a permit until it finishes, so queued, running and deferred jobs together never exceed
+ * the workers plus the queue capacity, and an outage of the model API turns into 429s instead of
+ * an unbounded backlog of parked pages.
+ */
+@Service
+public class ExtractionJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionJobService.class);
+
+    private final JobExtractorService jobExtractorService;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final Semaphore permits;
+    private final int maxDeferrals;
+    private final Duration jobRetention;
+    private final Map<String, ExtractionJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExtractionJobService(JobExtractorService jobExtractorService,
+                                @Value("${headhunt.extraction.workers:4}") int workers,
+                                @Value("${headhunt.extraction.queue-capacity:100}") int queueCapacity,
+                                @Value("${headhunt.extraction.virtual-threads:false}") boolean virtualThreads,
+                                @Value("${headhunt.extraction.job-retention-minutes:60}") long jobRetentionMinutes,
+                                @Value("${headhunt.extraction.max-deferrals:10}") int maxDeferrals) {
+        this.jobExtractorService = jobExtractorService;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), createThreadFactory(virtualThreads),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.permits = new Semaphore(workers + queueCapacity);
+        this.maxDeferrals = maxDeferrals;
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "extraction-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the HTML for extraction and returns its job handle. The resulting application is
+     * persisted by the worker once the model call and parsing succeed.
+     */
+    public ExtractionJob submit(String htmlContent) {
+        purgeExpiredJobs();
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Extraction queue is full");
+        }
+        ExtractionJob job = new ExtractionJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, htmlContent));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            permits.release();
+            throw e;
+        }
+        logger.debug("Queued extraction job {} ({} queued, {} active)",
+            job.getId(), executor.getQueue().size(), executor.getActiveCount());
+        return job;
+    }
+
+    public Optional<ExtractionJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+    }
+
+    private void run(ExtractionJob job, String htmlContent) {
+        job.markRunning();
+        try {
+            job.markCompleted(jobExtractorService.extractAndCreateJob(htmlContent));
+            permits.release();
+            logger.info("Extraction job {} completed", job.getId());
+        } catch (UpstreamUnavailableException e) {
+            defer(job, htmlContent, e.getRetryAfter(), e.getMessage());
+        } catch (Exception e) {
+            logger.error("Extraction job {} failed", job.getId(), e);
+            fail(job, e.getMessage());
+        }
+    }
+
+    private void defer(ExtractionJob job, String htmlContent, Duration delay, String reason) {
+        if (job.getDeferrals() >= maxDeferrals) {
+            logger.error("Extraction job {} failed after {} deferrals: {}", job.getId(), job.getDeferrals(), reason);
+            fail(job, reason);
+            return;
+        }
+        job.markDeferred(Instant.now().plus(delay), reason);
+        logger.warn("Extraction job {} deferred for {} ms: {}", job.getId(), delay.toMillis(), reason);
+        try {
+            retryScheduler.schedule(() -> requeue(job, htmlContent, delay), delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            fail(job, "Shutting down: " + reason);
+        }
+    }
+
+    private void fail(ExtractionJob job, String reason) {
+        job.markFailed(reason);
+        permits.release();
+    }
+
+    private void requeue(ExtractionJob job, String htmlContent, Duration delay) {
+        try {
+            executor.execute(() -> run(job, htmlContent));
+        } catch (RejectedExecutionException e) {
+            defer(job, htmlContent, delay, "Extraction queue is full");
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static ThreadFactory createThreadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                // Thread.ofVirtual() only exists on Java 21+, build with -Pjava21 to use it
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "extraction-", 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Virtual threads requested but not available on this JVM, using platform threads");
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "extraction-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
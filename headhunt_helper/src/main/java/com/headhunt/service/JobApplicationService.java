@@ -1,66 +1,404 @@
 package com.headhunt.service;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.headhunt.config.CacheConfig;
+import com.headhunt.dedupe.ApplicationMerger;
+import com.headhunt.dedupe.DedupeIndex;
+import com.headhunt.dedupe.DuplicateMatch;
+import com.headhunt.dto.ApplicationSummary;
+import com.headhunt.dto.CursorPage;
+import com.headhunt.events.ApplicationChangeEvent;
 import com.headhunt.model.JobApplication;
 import com.headhunt.model.ApplicationStatus;
-import com.headhunt.repository.JobApplicationRepository;
+import com.headhunt.search.SearchField;
+import com.headhunt.search.SearchIndex;
+import com.headhunt.storage.ApplicationStore;
+import com.headhunt.util.UrlNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class JobApplicationService {
-    
-    private final JobApplicationRepository repository;
+    private static final Logger logger = LoggerFactory.getLogger(JobApplicationService.class);
+
+    private final ApplicationStore store;
     private final CsvExportService csvExportService;
+    private final SearchIndex searchIndex;
+    private final ApplicationCacheInvalidator cacheInvalidator;
+    private final StatsService statsService;
+    private final DedupeIndex dedupeIndex;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Fields a PATCH may change; the rest are maintained by the application
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("companyName", "position", "jobUrl", "jobWebsite",
+        "status", "appliedDate", "notes", "location", "salary", "contactPerson", "contactEmail");
+    private static final Set<String> NOT_NULL_FIELDS = Set.of("companyName", "position", "jobUrl", "status");
+
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_APPLIED_TIME = "appliedTime";
+    public static final int MAX_PAGE_SIZE = 500;
 
     @Autowired
-    public JobApplicationService(JobApplicationRepository repository, CsvExportService csvExportService) {
-        this.repository = repository;
+    public JobApplicationService(ApplicationStore store, CsvExportService csvExportService, SearchIndex searchIndex,
+                                 ApplicationCacheInvalidator cacheInvalidator, StatsService statsService,
+                                 DedupeIndex dedupeIndex, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.store = store;
         this.csvExportService = csvExportService;
+        this.searchIndex = searchIndex;
+        this.cacheInvalidator = cacheInvalidator;
+        this.statsService = statsService;
+        this.dedupeIndex = dedupeIndex;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<JobApplication> getAllApplications() {
-        List<JobApplication> applications = repository.findAll();
-        csvExportService.exportToCsv(applications);
-        return applications;
+        return store.findAll();
+    }
+
+    /**
+     * Returns one page of applications after the given cursor. Sorting by {@code id} walks the
+     * table oldest first, sorting by {@code appliedTime} newest first; either way each page is a
+     * single index seek instead of an OFFSET scan.
+     */
+    public CursorPage<JobApplication> getApplicationsPage(String cursor, int size, String sort) {
+        int limit = pageLimit(size);
+        Keyset after = decodeKeyset(cursor, sort);
+        List<JobApplication> items = SORT_BY_ID.equals(sort)
+            ? store.findPageAfterId(after == null ? null : after.id(), limit)
+            : store.findPageAppliedBefore(after == null ? null : after.appliedTime(),
+                after == null ? null : after.id(), limit);
+        JobApplication last = items.size() == limit ? items.get(items.size() - 1) : null;
+        return new CursorPage<>(items, last == null ? null : encodeKeyset(sort, last.getAppliedTime(), last.getId()));
+    }
+
+    /** Keyset page of summaries; cursors are interchangeable with {@link #getApplicationsPage}. */
+    public CursorPage<ApplicationSummary> getSummaryPage(String cursor, int size, String sort) {
+        int limit = pageLimit(size);
+        Keyset after = decodeKeyset(cursor, sort);
+        List<ApplicationSummary> items = SORT_BY_ID.equals(sort)
+            ? store.findSummaryPageAfterId(after == null ? null : after.id(), limit)
+            : store.findSummaryPageAppliedBefore(after == null ? null : after.appliedTime(),
+                after == null ? null : after.id(), limit);
+        ApplicationSummary last = items.size() == limit ? items.get(items.size() - 1) : null;
+        return new CursorPage<>(items, last == null ? null : encodeKeyset(sort, last.appliedTime(), last.id()));
+    }
+
+    /** Summaries of all applications, or of one status (newest first) when {@code status} is set. */
+    public List<ApplicationSummary> getSummaries(ApplicationStatus status) {
+        return status == null ? store.findAllSummaries() : store.findSummariesByStatus(status);
+    }
+
+    /** Feeds every application to the consumer in id order without loading them all at once. */
+    public void streamApplications(Consumer<JobApplication> consumer) {
+        store.forEach(null, null, null, consumer);
+    }
+
+    /**
+     * Like {@link #streamApplications} but limited to one status and/or an {@code appliedTime}
+     * range ({@code appliedFrom} inclusive, {@code appliedBefore} exclusive); null filters are ignored.
+     */
+    public void exportApplications(ApplicationStatus status, LocalDateTime appliedFrom, LocalDateTime appliedBefore,
+                                   Consumer<JobApplication> consumer) {
+        store.forEach(status, appliedFrom, appliedBefore, consumer);
     }
 
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS_BY_ID, key = "#id", unless = "#result == null")
     public Optional<JobApplication> getApplicationById(Long id) {
-        return repository.findById(id);
+        return store.findById(id);
     }
 
+    /**
+     * Inserts the application unless it duplicates an existing one: a normalized-URL match
+     * (and, in merge mode, a fuzzy company/position match) is folded into the existing row,
+     * which is returned instead; in flag mode a fuzzy match is inserted with {@code duplicateOf} set.
+     */
     public JobApplication createApplication(JobApplication application) {
-        JobApplication saved = repository.save(application);
-        csvExportService.exportToCsv(repository.findAll());
+        Optional<DuplicateMatch> duplicate = dedupeIndex.findDuplicate(application);
+        if (duplicate.isPresent()) {
+            JobApplication merged = resolveDuplicate(application, duplicate.get());
+            if (merged != null) {
+                return merged;
+            }
+        }
+        JobApplication saved;
+        try {
+            saved = writeTimer("create", "persist").record(() -> store.save(application));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent insert of the same URL got to the unique index first
+            String urlKey = UrlNormalizer.key(application.getJobUrl());
+            Optional<JobApplication> existing = urlKey == null ? Optional.empty() : store.findByJobUrlKey(urlKey);
+            if (existing.isEmpty()) {
+                throw e;
+            }
+            return mergeInto(existing.get(), application);
+        }
+        cacheInvalidator.saved(saved, null);
+        statsService.recordCreate(saved);
+        dedupeIndex.add(saved);
+        writeTimer("create", "export").record(() -> csvExportService.recordUpsert(saved));
+        eventPublisher.publishEvent(ApplicationChangeEvent.created(saved));
         return saved;
     }
 
+    /**
+     * Inserts all applications in one transaction so Hibernate can send them as batched
+     * INSERTs, and queues a single export update for the whole batch. Duplicates are handled as
+     * in {@link #createApplication}; repeats of a URL within the batch are merged before
+     * inserting. Caches, stats, indexes and the export are only updated once the batch has
+     * committed. If a concurrent insert takes one of the URLs first, the batch rolls back and
+     * its applications are created one by one instead. The returned list matches the input positions.
+     */
+    public List<JobApplication> createApplications(List<JobApplication> applications) {
+        List<JobApplication> results = new ArrayList<>(Collections.nCopies(applications.size(), null));
+        List<JobApplication> toInsert = new ArrayList<>(applications.size());
+        List<Integer> insertPositions = new ArrayList<>(applications.size());
+        Map<String, Integer> insertIndexByUrlKey = new HashMap<>();
+        Map<Integer, Integer> repeatedInBatch = new HashMap<>();
+        for (int i = 0; i < applications.size(); i++) {
+            JobApplication application = applications.get(i);
+            Optional<DuplicateMatch> duplicate = dedupeIndex.findDuplicate(application);
+            if (duplicate.isPresent()) {
+                JobApplication merged = resolveDuplicate(application, duplicate.get());
+                if (merged != null) {
+                    results.set(i, merged);
+                    continue;
+                }
+            }
+            String urlKey = UrlNormalizer.key(application.getJobUrl());
+            Integer earlier = urlKey == null ? null : insertIndexByUrlKey.get(urlKey);
+            if (earlier != null) {
+                toInsert.set(earlier, ApplicationMerger.merge(toInsert.get(earlier), application));
+                repeatedInBatch.put(i, earlier);
+                continue;
+            }
+            if (urlKey != null) {
+                insertIndexByUrlKey.put(urlKey, toInsert.size());
+            }
+            insertPositions.add(i);
+            toInsert.add(application);
+        }
+
+        List<JobApplication> saved;
+        try {
+            saved = writeTimer("create_batch", "persist").record(() ->
+                transactionTemplate.execute(status -> store.saveAll(toInsert)));
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Batch of {} applications hit an existing job URL, creating them one by one", toInsert.size());
+            List<JobApplication> created = new ArrayList<>(toInsert.size());
+            for (JobApplication application : toInsert) {
+                // The rolled-back persist left an id and version behind; without them save() inserts
+                application.setId(null);
+                application.setVersion(null);
+                created.add(createApplication(application));
+            }
+            for (int j = 0; j < created.size(); j++) {
+                results.set(insertPositions.get(j), created.get(j));
+            }
+            repeatedInBatch.forEach((position, insertIndex) -> results.set(position, created.get(insertIndex)));
+            return results;
+        }
+        for (int j = 0; j < saved.size(); j++) {
+            JobApplication application = saved.get(j);
+            results.set(insertPositions.get(j), application);
+            cacheInvalidator.saved(application, null);
+            statsService.recordCreate(application);
+            dedupeIndex.add(application);
+            eventPublisher.publishEvent(ApplicationChangeEvent.created(application));
+        }
+        repeatedInBatch.forEach((position, insertIndex) -> results.set(position, saved.get(insertIndex)));
+        writeTimer("create_batch", "export").record(() -> csvExportService.recordUpserts(saved));
+        return results;
+    }
+
+    /**
+     * Replaces every field of the application. A {@code version} older than the stored one fails
+     * with {@link ObjectOptimisticLockingFailureException}; without a version the write wins.
+     */
     public JobApplication updateApplication(Long id, JobApplication application) {
-        if (repository.existsById(id)) {
+        Optional<JobApplication> existing = store.findById(id);
+        if (existing.isPresent()) {
+            // Snapshot: with open-in-view the found entity is the one save() merges into
+            JobApplication previous = existing.get().copy();
             application.setId(id);
-            JobApplication updated = repository.save(application);
-            csvExportService.exportToCsv(repository.findAll());
+            if (application.getVersion() == null) {
+                application.setVersion(previous.getVersion());
+            }
+            JobApplication updated = writeTimer("update", "persist").record(() -> store.save(application));
+            cacheInvalidator.saved(updated, previous.getStatus());
+            statsService.recordUpdate(previous, updated);
+            dedupeIndex.add(updated);
+            writeTimer("update", "export").record(() -> csvExportService.recordUpsert(updated));
+            eventPublisher.publishEvent(ApplicationChangeEvent.updated(updated));
             return updated;
         }
         throw new RuntimeException("Application not found with id: " + id);
     }
 
+    /**
+     * Sets the fields present in {@code changes} (JSON names and values, null clears an optional
+     * field) on the stored application. Dirty checking with {@code @DynamicUpdate} turns this into
+     * one UPDATE of just the changed columns, guarded by the version, and nothing is written when
+     * no value changed. If {@code expectedVersion} is given it must match the stored version; a
+     * mismatch, or a concurrent write between the read and the UPDATE, fails with
+     * {@link ObjectOptimisticLockingFailureException}. Returns empty if there is no such application.
+     */
+    @Transactional
+    public Optional<JobApplication> patchApplication(Long id, Map<String, Object> changes, Long expectedVersion) {
+        changes.forEach((field, value) -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Field cannot be patched: " + field);
+            }
+            if (value == null && NOT_NULL_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Field cannot be null: " + field);
+            }
+        });
+        Optional<JobApplication> existing = store.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        JobApplication stored = existing.get();
+        if (expectedVersion != null && !expectedVersion.equals(stored.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(JobApplication.class, id);
+        }
+        JobApplication previous = stored.copy();
+        try {
+            objectMapper.updateValue(stored, changes);
+        } catch (JsonMappingException e) {
+            throw new IllegalArgumentException("Invalid value: " + e.getOriginalMessage(), e);
+        }
+        // Flush now so a version conflict surfaces here, before caches and the export are touched
+        JobApplication updated = writeTimer("patch", "persist").record(() -> store.saveAndFlush(stored));
+        if (!updated.getVersion().equals(previous.getVersion())) {
+            cacheInvalidator.saved(updated, previous.getStatus());
+            statsService.recordUpdate(previous, updated);
+            dedupeIndex.add(updated);
+            writeTimer("patch", "export").record(() -> csvExportService.recordUpsert(updated));
+            eventPublisher.publishEvent(ApplicationChangeEvent.updated(updated));
+        }
+        return Optional.of(updated);
+    }
+
     public void deleteApplication(Long id) {
-        repository.deleteById(id);
-        csvExportService.exportToCsv(repository.findAll());
+        store.findById(id).ifPresent(existing -> {
+            writeTimer("delete", "persist").record(() -> store.delete(existing));
+            cacheInvalidator.deleted(id, existing.getStatus());
+            statsService.recordDelete(existing);
+            dedupeIndex.remove(id);
+            writeTimer("delete", "export").record(() -> csvExportService.recordDelete(id));
+            eventPublisher.publishEvent(ApplicationChangeEvent.deleted(id));
+        });
+    }
+
+    /** Merges into the matched application and returns it, or flags the new one and returns null. */
+    private JobApplication resolveDuplicate(JobApplication application, DuplicateMatch match) {
+        if (match.action() == DuplicateMatch.Action.FLAG) {
+            logger.info("Flagging new application as a possible duplicate of {} (similarity {})",
+                match.existingId(), match.similarity());
+            application.setDuplicateOf(match.existingId());
+            return null;
+        }
+        Optional<JobApplication> existing = store.findById(match.existingId());
+        if (existing.isEmpty()) {
+            return null;
+        }
+        logger.info("Merging new application into existing {} ({} match)", match.existingId(), match.reason());
+        return mergeInto(existing.get(), application);
+    }
+
+    private JobApplication mergeInto(JobApplication existing, JobApplication duplicate) {
+        return updateApplication(existing.getId(), ApplicationMerger.merge(existing, duplicate));
+    }
+
+    public List<JobApplication> search(String query, int limit) {
+        return searchIndex.search(query, limit);
     }
 
     public List<JobApplication> searchByCompany(String companyName) {
-        return repository.findByCompanyNameContainingIgnoreCase(companyName);
+        return searchIndex.search(companyName, EnumSet.of(SearchField.COMPANY), Integer.MAX_VALUE);
     }
 
     public List<JobApplication> searchByPosition(String position) {
-        return repository.findByPositionContainingIgnoreCase(position);
+        return searchIndex.search(position, EnumSet.of(SearchField.POSITION), Integer.MAX_VALUE);
     }
 
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS_BY_STATUS, key = "#status")
     public List<JobApplication> getApplicationsByStatus(ApplicationStatus status) {
-        return repository.findByStatus(status);
+        return store.findByStatus(status);
+    }
+
+    private record Keyset(LocalDateTime appliedTime, Long id) {
+    }
+
+    private int pageLimit(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private String encodeKeyset(String sort, LocalDateTime appliedTime, Long id) {
+        String value = SORT_BY_ID.equals(sort) ? String.valueOf(id) : appliedTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Keyset decodeKeyset(String cursor, String sort) {
+        if (!SORT_BY_ID.equals(sort) && !SORT_BY_APPLIED_TIME.equals(sort)) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (SORT_BY_ID.equals(sort)) {
+                return new Keyset(null, Long.valueOf(value));
+            }
+            String[] parts = value.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Keyset(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private Timer writeTimer(String operation, String stage) {
+        return Timer.builder("headhunt.applications.write")
+            .description("Time spent persisting an application change or queueing it for export")
+            .tag("operation", operation)
+            .tag("stage", stage)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
-} 
\ No newline at end of file
+}
@@ -1,17 +1,21 @@
 package com.headhunt.service;
 
+import com.headhunt.client.AnthropicClient;
 import com.headhunt.model.JobApplication;
 import com.headhunt.model.ApplicationStatus;
-import com.headhunt.repository.JobApplicationRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import com.headhunt.extraction.ExtractionCache;
+import com.headhunt.extraction.ExtractionContext;
+import com.headhunt.extraction.ExtractionMetrics;
+import com.headhunt.extraction.ExtractionMetrics.Stage;
+import com.headhunt.extraction.HtmlTextExtractor;
+import com.headhunt.extraction.ModelResponseParser;
+import com.headhunt.extraction.TextBlockSelector;
+import com.headhunt.extraction.site.SiteExtractorChain;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.*;
 import java.util.HashMap;
 import java.util.Map;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.Objects;
+import java.util.Optional;
 import java.time.LocalDateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,88 +23,119 @@ import org.slf4j.LoggerFactory;
 @Service
 public class JobExtractorService {
     private static final Logger logger = LoggerFactory.getLogger(JobExtractorService.class);
-    private static final String ANTHROPIC_API_URL = "https://api.anthropic.com/v1/messages";
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Value("${anthropic.api.key}")
-    private String anthropicApiKey;
-
-    @Value("${anthropic.api.model}")
-    private String anthropicModel;
-
-    private final RestTemplate restTemplate;
+    private final AnthropicClient anthropicClient;
     private final JobApplicationService jobApplicationService;
+    private final ExtractionCache extractionCache;
+    private final TextBlockSelector textBlockSelector;
+    private final SiteExtractorChain siteExtractorChain;
+    private final ExtractionMetrics metrics;
+
+    private static final String SOURCE_CACHE = "cache";
+    private static final String SOURCE_SITE = "site";
+    private static final String SOURCE_MODEL = "model";
 
     private static final int NOTES_MAX_LENGTH = 4000;
     private static final int URL_MAX_LENGTH = 1000;
     private static final int TEXT_MAX_LENGTH = 255;
+    private static final int VISIBLE_TEXT_MAX_LENGTH = 750000; // ~187,500 tokens
 
-    private String extractedUrl; // Add this field to store the extracted URL
-
-    @Autowired
-    private JobApplicationRepository jobApplicationRepository;
-
-
-    public JobExtractorService(JobApplicationService jobApplicationService) {
-        this.restTemplate = new RestTemplate();
+    public JobExtractorService(AnthropicClient anthropicClient, JobApplicationService jobApplicationService,
+                               ExtractionCache extractionCache, TextBlockSelector textBlockSelector,
+                               SiteExtractorChain siteExtractorChain, ExtractionMetrics metrics) {
+        this.anthropicClient = anthropicClient;
         this.jobApplicationService = jobApplicationService;
+        this.extractionCache = extractionCache;
+        this.textBlockSelector = textBlockSelector;
+        this.siteExtractorChain = siteExtractorChain;
+        this.metrics = metrics;
     }
 
-    private String extractVisibleText(String htmlContent) {
-        // Extract URL from comment if present
-        String url = "Unknown";
-        logger.info("=== STARTING URL EXTRACTION ===");
-        logger.info("HTML content starts with: {}", htmlContent.substring(0, Math.min(200, htmlContent.length())));
-        
-        if (htmlContent.contains("<!-- EXTRACTED_URL:")) {
-            logger.info("Found URL comment marker");
-            int startIndex = htmlContent.indexOf("<!-- EXTRACTED_URL:") + "<!-- EXTRACTED_URL:".length();
-            int endIndex = htmlContent.indexOf("-->", startIndex);
-            
-            logger.info("URL comment position - start: {}, end: {}", startIndex, endIndex);
-            
-            if (endIndex > startIndex) {
-                url = htmlContent.substring(startIndex, endIndex).trim();
-                logger.info("Successfully extracted URL: {}", url);
-            } else {
-                logger.warn("Found URL comment marker but couldn't extract URL - invalid comment format");
-            }
-        } else {
-            logger.warn("No URL comment marker found in HTML content");
+    private void extractVisibleText(ExtractionContext context) {
+        String htmlContent = context.getHtmlContent();
+        if (context.isPayloadLogged()) {
+            logger.debug("HTML content starts with: {}", ExtractionMetrics.preview(htmlContent));
         }
 
-        // Remove script and style elements
-        String cleanedHtml = htmlContent.replaceAll("<script[^>]*>.*?</script>", "")
-                                      .replaceAll("<style[^>]*>.*?</style>", "")
-                                      .replaceAll("<!--.*?-->", ""); // Remove comments
-
-        // Remove all HTML tags and clean up whitespace
-        String visibleText = cleanedHtml.replaceAll("<[^>]*>", " ")
-                                      .replaceAll("\\s+", " ")
-                                      .trim();
-
-        // Truncate to stay within token limits
-        int maxChars = 750000; // ~187,500 tokens
-        if (visibleText.length() > maxChars) {
-            logger.warn("Visible text too long ({} chars), truncating to {} chars", 
-                visibleText.length(), maxChars);
-            return visibleText.substring(0, maxChars);
+        HtmlTextExtractor.Result extracted =
+            HtmlTextExtractor.extract(htmlContent, VISIBLE_TEXT_MAX_LENGTH, textBlockSelector.markers());
+        if (extracted.truncated()) {
+            logger.warn("Visible text too long, truncated to {} chars", VISIBLE_TEXT_MAX_LENGTH);
+        }
+        if (extracted.sourceUrl() != null) {
+            logger.debug("Extracted URL: {}", extracted.sourceUrl());
+        } else {
+            logger.warn("No URL comment marker found in HTML content");
         }
 
-        // Store the URL in a class field for use in parseAndCreateJob
-        this.extractedUrl = url;
-        logger.info("=== URL EXTRACTION COMPLETE ===");
-        logger.info("Final extracted URL: {}", this.extractedUrl);
-        return visibleText;
+        context.setExtracted(extracted);
+        context.setSourceUrl(extracted.sourceUrl());
+        context.setVisibleText(extracted.text());
     }
 
     public Map<String, Object> extractAndCreateJob(String htmlContent) {
-        logger.info("Starting job extraction from HTML content");
-        logger.debug("HTML content length: {}", htmlContent.length());
+        ExtractionContext context = extractJob(htmlContent);
+        JobApplication savedApplication = context.getExistingApplication()
+            .orElseGet(() -> metrics.time(Stage.PERSIST, () -> jobApplicationService.createApplication(context.getApplication())));
+        Map<String, Object> result = completeJob(context, savedApplication);
+        logger.info("Successfully extracted and created job application with ID: {}", result.get("id"));
+        return result;
+    }
+
+    /**
+     * Runs every extraction step except persistence: text cleanup, cache lookup, structured-data
+     * extraction or (when the page lacks it) a model call, and mapping the fields onto an unsaved
+     * {@link JobApplication}. Callers save {@link ExtractionContext#getApplication()} (unless the
+     * cache already points at an existing row) and then pass the saved entity to {@link #completeJob}.
+     */
+    public ExtractionContext extractJob(String htmlContent) {
+        ExtractionContext context = new ExtractionContext(htmlContent);
+        context.setPayloadLogged(logger.isDebugEnabled() && metrics.samplePayload());
 
         // Extract and truncate visible text
-        String visibleText = extractVisibleText(htmlContent);
-        logger.debug("Extracted visible text length: {}", visibleText.length());
+        metrics.time(Stage.CLEAN, () -> extractVisibleText(context));
+        metrics.recordInput(htmlContent.length(), context.getVisibleText().length());
+        logger.debug("Extracting job from {} chars of HTML ({} chars of visible text)",
+            htmlContent.length(), context.getVisibleText().length());
+
+        Optional<ExtractionCache.CachedExtraction> cached = metrics.time(Stage.CACHE, () -> {
+            context.setCacheKey(extractionCache.keyFor(context));
+            return extractionCache.get(context.getCacheKey());
+        });
+        if (cached.isPresent()) {
+            metrics.recordSource(SOURCE_CACHE);
+            logger.info("Extraction cache hit for {}", context.getSourceUrl());
+            context.setExtractedBy(SOURCE_CACHE);
+            context.setExtractedFields(cached.get().fields());
+            if (cached.get().applicationId() != null) {
+                context.setCachedApplicationId(cached.get().applicationId());
+                context.setExistingApplication(jobApplicationService.getApplicationById(cached.get().applicationId()).orElse(null));
+            }
+        } else {
+            Optional<SiteExtractorChain.SiteExtraction> site =
+                metrics.time(Stage.SITE, () -> siteExtractorChain.extract(htmlContent, context.getSourceUrl()));
+            if (site.isPresent()) {
+                logger.info("Read job fields from structured data ({}) for {}, skipping the model",
+                    site.get().extractedBy(), context.getSourceUrl());
+                metrics.recordSource(SOURCE_SITE);
+                context.setExtractedBy(site.get().extractedBy());
+                context.setExtractedFields(site.get().fields());
+            } else {
+                extractWithModel(context);
+            }
+        }
+
+        context.setApplication(buildApplication(context));
+        return context;
+    }
+
+    private void extractWithModel(ExtractionContext context) {
+        TextBlockSelector.Selection selection = metrics.time(Stage.SELECT, () -> textBlockSelector.select(context.getExtracted()));
+        context.setSelection(selection);
+        metrics.recordSelection(selection.text().length(), selection.reduction());
+        logger.info("Sending {} of {} chars ({} of {} blocks, {}% reduction) to the model",
+            selection.text().length(), selection.originalChars(), selection.keptBlocks(), selection.totalBlocks(),
+            Math.round(selection.reduction() * 100));
 
         String prompt = """
             Extract job information from the following text content. Return a JSON object with these fields:
@@ -122,53 +157,12 @@ public class JobExtractorService {
             Keep the notes field concise and focused on the most important information.
             Text Content:
             %s
-            """.formatted(visibleText);
+            """.formatted(selection.text());
 
-        logger.info("Sending request to Claude API with model: {}", anthropicModel);
-        String extractedInfo = callClaudeApi(prompt);
-        logger.debug("Received response from Claude API: {}", extractedInfo);
-
-        Map<String, Object> result = parseAndCreateJob(extractedInfo);
-        logger.info("Successfully extracted and created job application with ID: {}", result.get("id"));
-        return result;
-    }
-
-    private String callClaudeApi(String prompt) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("x-api-key", anthropicApiKey);
-            headers.set("anthropic-version", "2023-06-01");
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", anthropicModel);
-            requestBody.put("max_tokens", 1000);
-            requestBody.put("temperature", 0.3);
-            requestBody.put("messages", new Object[]{
-                Map.of("role", "user", "content", prompt)
-            });
-
-            logger.debug("Sending request to Claude API: {}", requestBody);
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> response = restTemplate.exchange(
-                ANTHROPIC_API_URL,
-                HttpMethod.POST,
-                request,
-                Map.class
-            );
-
-            Map responseBody = response.getBody();
-            if (responseBody != null && responseBody.containsKey("content")) {
-                String content = ((String) ((Map) ((java.util.List) responseBody.get("content")).get(0)).get("text"));
-                logger.debug("Received response from Claude API: {}", content);
-                return content;
-            }
-            logger.error("Invalid response from Claude API: {}", responseBody);
-            throw new RuntimeException("Failed to get response from Claude API");
-        } catch (Exception e) {
-            logger.error("Error calling Claude API: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to call Claude API: " + e.getMessage());
-        }
+        metrics.recordSource(SOURCE_MODEL);
+        context.setExtractedBy(SOURCE_MODEL);
+        context.setModelResponse(metrics.time(Stage.MODEL, () -> anthropicClient.complete(prompt, context.isPayloadLogged())));
+        context.setExtractedFields(metrics.time(Stage.PARSE, () -> parseModelResponse(context)));
     }
 
     private String truncateText(String text, int maxLength, String fieldName) {
@@ -180,68 +174,74 @@ public class JobExtractorService {
         return text;
     }
 
-    private Map<String, Object> parseAndCreateJob(String response) {
+    private Map<String, Object> parseModelResponse(ExtractionContext context) {
         try {
-            // Extract just the JSON part from the response
-            int startIndex = response.indexOf('{');
-            int endIndex = response.lastIndexOf('}') + 1;
-            
-            if (startIndex == -1 || endIndex == 0) {
-                logger.error("No JSON object found in response: {}", response);
-                throw new RuntimeException("No valid JSON object found in response");
-            }
-            
-            String jsonStr = response.substring(startIndex, endIndex);
-            logger.debug("Extracted JSON string: {}", jsonStr);
-            
-            Map<String, Object> extractedData = objectMapper.readValue(
-                jsonStr,
-                new TypeReference<Map<String, Object>>() {}
-            );
-
-            // Extract required fields with defaults
-            String companyName = String.valueOf(extractedData.getOrDefault("companyName", "Unknown"));
-            String position = String.valueOf(extractedData.getOrDefault("position", "Unknown"));
-            // Use the extracted URL from the HTML comment
-            String jobUrl = this.extractedUrl != null ? this.extractedUrl : String.valueOf(extractedData.getOrDefault("jobUrl", "Unknown"));
-
-            // Create and save the job application
-            JobApplication application = new JobApplication();
-            application.setCompanyName(truncateText(companyName, TEXT_MAX_LENGTH, "companyName"));
-            application.setPosition(truncateText(position, TEXT_MAX_LENGTH, "position"));
-            application.setJobUrl(truncateText(jobUrl, URL_MAX_LENGTH, "jobUrl"));
-            application.setJobWebsite(truncateText(this.extractedUrl, URL_MAX_LENGTH, "jobWebsite"));
-            application.setStatus(ApplicationStatus.APPLIED);
-            application.setLocation(truncateText(String.valueOf(extractedData.get("location")), TEXT_MAX_LENGTH, "location"));
-            application.setSalary(truncateText(String.valueOf(extractedData.get("salary")), TEXT_MAX_LENGTH, "salary"));
-            application.setContactPerson(truncateText(String.valueOf(extractedData.get("contactPerson")), TEXT_MAX_LENGTH, "contactPerson"));
-            application.setContactEmail(truncateText(String.valueOf(extractedData.get("contactEmail")), TEXT_MAX_LENGTH, "contactEmail"));
-            application.setNotes(truncateText(String.valueOf(extractedData.get("notes")), NOTES_MAX_LENGTH, "notes"));
-
-            JobApplication savedApplication = jobApplicationService.createApplication(application);
-            logger.info("Successfully saved job application: {}", savedApplication);
-
-            // Add the saved application ID to the response
-            extractedData.put("id", savedApplication.getId());
-            extractedData.put("status", savedApplication.getStatus());
-            extractedData.put("appliedTime", savedApplication.getAppliedTime());
-            extractedData.put("url", this.extractedUrl); // Add the extracted URL to the response
-
-            // Add validation status to response
-            extractedData.put("validation", Map.of(
-                "companyName", !companyName.equals("Unknown"),
-                "position", !position.equals("Unknown"),
-                "jobUrl", !jobUrl.equals("Unknown")
-            ));
-
-            return extractedData;
+            return ModelResponseParser.parse(context.getModelResponse());
         } catch (Exception e) {
-            logger.error("Failed to parse job information: {}", e.getMessage(), e);
+            logger.error("Failed to parse job information from response: {}", context.getModelResponse(), e);
             throw new RuntimeException("Failed to parse job information: " + e.getMessage());
         }
     }
 
-    public String getExtractedUrl() {
-        return extractedUrl;
+    private JobApplication buildApplication(ExtractionContext context) {
+        Map<String, Object> extractedData = context.getExtractedFields();
+        // Extract required fields with defaults
+        String companyName = String.valueOf(extractedData.getOrDefault("companyName", "Unknown"));
+        String position = String.valueOf(extractedData.getOrDefault("position", "Unknown"));
+        // Prefer the URL from the HTML comment over whatever the model found in the text
+        String sourceUrl = context.getSourceUrl();
+        String jobUrl = sourceUrl != null ? sourceUrl : String.valueOf(extractedData.getOrDefault("jobUrl", "Unknown"));
+
+        JobApplication application = new JobApplication();
+        application.setCompanyName(truncateText(companyName, TEXT_MAX_LENGTH, "companyName"));
+        application.setPosition(truncateText(position, TEXT_MAX_LENGTH, "position"));
+        application.setJobUrl(truncateText(jobUrl, URL_MAX_LENGTH, "jobUrl"));
+        application.setJobWebsite(truncateText(sourceUrl, URL_MAX_LENGTH, "jobWebsite"));
+        application.setStatus(ApplicationStatus.APPLIED);
+        application.setLocation(truncateText(String.valueOf(extractedData.get("location")), TEXT_MAX_LENGTH, "location"));
+        application.setSalary(truncateText(String.valueOf(extractedData.get("salary")), TEXT_MAX_LENGTH, "salary"));
+        application.setContactPerson(truncateText(String.valueOf(extractedData.get("contactPerson")), TEXT_MAX_LENGTH, "contactPerson"));
+        application.setContactEmail(truncateText(String.valueOf(extractedData.get("contactEmail")), TEXT_MAX_LENGTH, "contactEmail"));
+        application.setNotes(truncateText(String.valueOf(extractedData.get("notes")), NOTES_MAX_LENGTH, "notes"));
+        return application;
+    }
+
+    /**
+     * Records the saved application in the extraction cache and builds the response: the
+     * extracted fields plus id, status, source URL and per-field validation. For cache hits the
+     * saved application is the row created by the earlier capture of the same page.
+     */
+    public Map<String, Object> completeJob(ExtractionContext context, JobApplication savedApplication) {
+        Map<String, Object> extractedData = context.getExtractedFields();
+        if (!Objects.equals(savedApplication.getId(), context.getCachedApplicationId())) {
+            extractionCache.put(context.getCacheKey(), extractedData, savedApplication.getId());
+        }
+        if (context.getExistingApplication().isPresent()) {
+            logger.info("Page already captured as job application {}, not inserting a duplicate", savedApplication.getId());
+        }
+
+        String companyName = String.valueOf(extractedData.getOrDefault("companyName", "Unknown"));
+        String position = String.valueOf(extractedData.getOrDefault("position", "Unknown"));
+        String sourceUrl = context.getSourceUrl();
+
+        Map<String, Object> result = new HashMap<>(extractedData);
+        // Add the saved application ID to the response
+        result.put("id", savedApplication.getId());
+        result.put("status", savedApplication.getStatus());
+        result.put("appliedTime", savedApplication.getAppliedTime());
+        result.put("url", sourceUrl != null ? sourceUrl : "Unknown"); // Add the extracted URL to the response
+        result.put("cached", SOURCE_CACHE.equals(context.getExtractedBy()));
+        result.put("extractedBy", context.getExtractedBy());
+        if (context.getSelection() != null) {
+            result.put("textReduction", Math.round(context.getSelection().reduction() * 1000) / 1000.0);
+        }
+
+        // Add validation status to response
+        result.put("validation", Map.of(
+            "companyName", !companyName.equals("Unknown"),
+            "position", !position.equals("Unknown"),
+            "jobUrl", !savedApplication.getJobUrl().equals("Unknown")
+        ));
+        return result;
     }
-} 
\ No newline at end of file
+}
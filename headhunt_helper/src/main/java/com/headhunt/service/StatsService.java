@@ -0,0 +1,149 @@
+package com.headhunt.service;
+
+import com.headhunt.dto.ApplicationStats;
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+import com.headhunt.storage.ApplicationStore;
+import com.headhunt.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Running counts per status, company and applied week, plus status transitions, maintained by
+ * {@link JobApplicationService} on every write so the dashboard never has to aggregate the full
+ * table. Inside a transaction the counts only change after commit, so a rollback cannot skew them.
+ * Rebuilt from the database at startup; transition counts start from zero because the history
+ * of earlier status changes is not stored.
+ */
+@Service
+public class StatsService {
+    private static final Logger logger = LoggerFactory.getLogger(StatsService.class);
+    private static final String UNKNOWN = "Unknown";
+
+    private final ApplicationStore store;
+
+    // Writers hold the read lock (map updates are atomic on their own); rebuild holds the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+
+    @Autowired
+    public StatsService(ApplicationStore store) {
+        this.store = store;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            List<JobApplication> applications = store.findAll();
+            Counters rebuilt = new Counters();
+            for (JobApplication application : applications) {
+                rebuilt.add(application, 1);
+            }
+            rebuilt.transitions.putAll(counters.transitions);
+            counters = rebuilt;
+            logger.info("Application stats rebuilt from {} applications in {} ms",
+                applications.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordCreate(JobApplication application) {
+        JobApplication created = application.copy();
+        update(() -> counters.add(created, 1));
+    }
+
+    public void recordUpdate(JobApplication previous, JobApplication updated) {
+        JobApplication before = previous.copy();
+        JobApplication after = updated.copy();
+        update(() -> {
+            Counters current = counters;
+            current.add(before, -1);
+            current.add(after, 1);
+            if (before.getStatus() != after.getStatus()) {
+                current.transitions.merge(before.getStatus() + "->" + after.getStatus(), 1L, Long::sum);
+            }
+        });
+    }
+
+    public void recordDelete(JobApplication application) {
+        JobApplication deleted = application.copy();
+        update(() -> counters.add(deleted, -1));
+    }
+
+    public ApplicationStats getStats() {
+        Counters current = counters;
+        Map<ApplicationStatus, Long> byStatus = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            byStatus.put(status, current.byStatus.getOrDefault(status, 0L));
+        }
+        return new ApplicationStats(
+            current.total.get(),
+            byStatus,
+            new TreeMap<>(current.byCompany),
+            new TreeMap<>(current.byWeek),
+            new TreeMap<>(current.transitions));
+    }
+
+    private void update(Runnable change) {
+        // Copies are taken by the callers, since the applications may be managed entities still open to changes
+        TransactionHooks.afterCommit(() -> {
+            lock.readLock().lock();
+            try {
+                change.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    private static String weekOf(LocalDateTime appliedTime) {
+        if (appliedTime == null) {
+            return UNKNOWN;
+        }
+        return String.format("%d-W%02d",
+            appliedTime.get(IsoFields.WEEK_BASED_YEAR), appliedTime.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    private static final class Counters {
+        private final AtomicLong total = new AtomicLong();
+        private final ConcurrentMap<ApplicationStatus, Long> byStatus = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Long> byCompany = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Long> byWeek = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Long> transitions = new ConcurrentHashMap<>();
+
+        void add(JobApplication application, long delta) {
+            total.addAndGet(delta);
+            if (application.getStatus() != null) {
+                adjust(byStatus, application.getStatus(), delta);
+            }
+            String company = application.getCompanyName() == null || application.getCompanyName().isBlank()
+                ? UNKNOWN : application.getCompanyName().trim();
+            adjust(byCompany, company, delta);
+            adjust(byWeek, weekOf(application.getAppliedTime()), delta);
+        }
+
+        private static <K> void adjust(ConcurrentMap<K, Long> counts, K key, long delta) {
+            // Keys whose count drops to zero are removed so deleted companies and weeks disappear
+            counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.headhunt.storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.headhunt.model.JobApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of the writes {@link MemoryApplicationStore} has accepted but not yet copied
+ * to the database, one JSON entry per line. After every flush it is rewritten to hold only what
+ * is still pending, so it stays as small as the write-behind backlog.
+ */
+final class ApplicationJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationJournal.class);
+
+    /** The application's state after a write; {@code application} null records a delete. */
+    record Entry(Long id, JobApplication application) {
+    }
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    ApplicationJournal(Path path, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+        Path directory = this.path.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.channel = open();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Entries in the order they were written. A crash can leave the last line half written;
+     * it is skipped, since its write never returned to the caller.
+     */
+    List<Entry> read() throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        List<Entry> entries = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(lines.get(i), Entry.class));
+            } catch (JsonProcessingException e) {
+                if (i < lines.size() - 1) {
+                    throw new IOException("Corrupt journal entry on line " + (i + 1) + " of " + path, e);
+                }
+                logger.warn("Skipping incomplete last journal entry in {}", path);
+            }
+        }
+        return entries;
+    }
+
+    void append(List<Entry> entries) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(encode(entries));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /** Replaces the journal with {@code entries} through a temp file and an atomic rename. */
+    void rewrite(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            channel.truncate(0);
+            if (fsync) {
+                channel.force(false);
+            }
+            return;
+        }
+        Path tempFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        Files.write(tempFile, encode(entries));
+        if (fsync) {
+            try (FileChannel temp = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                temp.force(false);
+            }
+        }
+        channel.close();
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private byte[] encode(List<Entry> entries) throws JsonProcessingException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Entry entry : entries) {
+            bytes.writeBytes(objectMapper.writeValueAsBytes(entry));
+            bytes.write('\n');
+        }
+        return bytes.toByteArray();
+    }
+}
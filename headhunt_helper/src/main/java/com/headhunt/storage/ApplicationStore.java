@@ -0,0 +1,68 @@
+package com.headhunt.storage;
+
+import com.headhunt.dto.ApplicationSummary;
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Where job applications are kept, selected by {@code headhunt.storage.mode}: {@code database}
+ * (the default, {@link JpaApplicationStore}) or {@code memory} ({@link MemoryApplicationStore}).
+ * Writes follow JPA semantics in both modes: a stale {@code version} fails with
+ * {@link org.springframework.orm.ObjectOptimisticLockingFailureException}, a duplicate job URL or
+ * a value the table cannot hold with {@link org.springframework.dao.DataIntegrityViolationException}.
+ */
+public interface ApplicationStore {
+
+    List<JobApplication> findAll();
+
+    Optional<JobApplication> findById(Long id);
+
+    Optional<JobApplication> findByJobUrlKey(String jobUrlKey);
+
+    List<JobApplication> findByStatus(ApplicationStatus status);
+
+    /** Oldest first, starting after {@code afterId} or at the beginning when it is null. */
+    List<JobApplication> findPageAfterId(Long afterId, int limit);
+
+    /**
+     * Newest first by {@code appliedTime}, id breaking ties, starting after the given position
+     * or at the newest application when {@code appliedTime} is null.
+     */
+    List<JobApplication> findPageAppliedBefore(LocalDateTime appliedTime, Long id, int limit);
+
+    /** Summaries of all applications in id order. */
+    List<ApplicationSummary> findAllSummaries();
+
+    /** Summaries of one status, newest first. */
+    List<ApplicationSummary> findSummariesByStatus(ApplicationStatus status);
+
+    /** Summary counterpart of {@link #findPageAfterId}. */
+    List<ApplicationSummary> findSummaryPageAfterId(Long afterId, int limit);
+
+    /** Summary counterpart of {@link #findPageAppliedBefore}. */
+    List<ApplicationSummary> findSummaryPageAppliedBefore(LocalDateTime appliedTime, Long id, int limit);
+
+    /**
+     * Feeds the applications matching the filters to the consumer in id order without holding
+     * them all in memory at once. Null filters match everything; {@code appliedFrom} is
+     * inclusive, {@code appliedBefore} exclusive.
+     */
+    void forEach(ApplicationStatus status, LocalDateTime appliedFrom, LocalDateTime appliedBefore,
+                 Consumer<JobApplication> consumer);
+
+    /** Inserts an application without an id, otherwise updates it; returns the stored state. */
+    JobApplication save(JobApplication application);
+
+    /** Saves all applications as one unit; either all are stored or none. */
+    List<JobApplication> saveAll(List<JobApplication> applications);
+
+    /** Like {@link #save}, but version conflicts surface here rather than at commit. */
+    JobApplication saveAndFlush(JobApplication application);
+
+    void delete(JobApplication application);
+}
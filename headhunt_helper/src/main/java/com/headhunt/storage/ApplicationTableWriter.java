@@ -0,0 +1,120 @@
+package com.headhunt.storage;
+
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC access to {@code job_applications} for {@link MemoryApplicationStore}: one query to
+ * load the table and batched statements to write changes back. Works on MySQL and H2 alike.
+ */
+final class ApplicationTableWriter {
+    private static final String COLUMNS = "company_name, position, job_url, job_website, job_url_key, duplicate_of, " +
+                                          "status, applied_time, applied_date, notes, location, salary, " +
+                                          "contact_person, contact_email, version";
+    private static final String INSERT = "insert into job_applications (" + COLUMNS + ", id) " +
+                                         "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "update job_applications set company_name = ?, position = ?, job_url = ?, " +
+                                         "job_website = ?, job_url_key = ?, duplicate_of = ?, status = ?, " +
+                                         "applied_time = ?, applied_date = ?, notes = ?, location = ?, salary = ?, " +
+                                         "contact_person = ?, contact_email = ?, version = ? where id = ?";
+    // Keeps the id generator ahead of the ids assigned here, with the same one-block margin as
+    // V2__id_generators.sql, so switching back to database mode cannot reuse an id
+    private static final String ADVANCE_ID_GENERATOR = "update id_generators set next_val = ? " +
+                                                       "where generator_name = 'job_applications' and next_val < ?";
+    private static final int ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    ApplicationTableWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    List<JobApplication> loadAll() {
+        return transactionTemplate.execute(status ->
+            jdbcTemplate.query("select id, " + COLUMNS + " from job_applications order by id",
+                (resultSet, row) -> read(resultSet)));
+    }
+
+    /** Applies the deletes, then the upserts, in one transaction. */
+    void write(List<JobApplication> upserts, List<Long> deletes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate("delete from job_applications where id = ?", deletes, deletes.size(),
+                    (statement, id) -> statement.setLong(1, id));
+            }
+            if (upserts.isEmpty()) {
+                return;
+            }
+            Set<Long> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                "select id from job_applications where id in (:ids)",
+                Map.of("ids", upserts.stream().map(JobApplication::getId).toList()), Long.class));
+            List<JobApplication> inserts = new ArrayList<>();
+            List<JobApplication> updates = new ArrayList<>();
+            long maxId = 0;
+            for (JobApplication application : upserts) {
+                (existing.contains(application.getId()) ? updates : inserts).add(application);
+                maxId = Math.max(maxId, application.getId());
+            }
+            jdbcTemplate.batchUpdate(UPDATE, updates, updates.size(), ApplicationTableWriter::bind);
+            jdbcTemplate.batchUpdate(INSERT, inserts, inserts.size(), ApplicationTableWriter::bind);
+            jdbcTemplate.update(ADVANCE_ID_GENERATOR, maxId + ID_BLOCK + 1, maxId + ID_BLOCK + 1);
+        });
+    }
+
+    private static void bind(PreparedStatement statement, JobApplication application) throws SQLException {
+        statement.setString(1, application.getCompanyName());
+        statement.setString(2, application.getPosition());
+        statement.setString(3, application.getJobUrl());
+        statement.setString(4, application.getJobWebsite());
+        statement.setString(5, application.getJobUrlKey());
+        statement.setObject(6, application.getDuplicateOf());
+        statement.setString(7, application.getStatus().name());
+        statement.setObject(8, application.getAppliedTime());
+        statement.setObject(9, application.getAppliedDate());
+        statement.setString(10, application.getNotes());
+        statement.setString(11, application.getLocation());
+        statement.setString(12, application.getSalary());
+        statement.setString(13, application.getContactPerson());
+        statement.setString(14, application.getContactEmail());
+        statement.setLong(15, application.getVersion());
+        statement.setLong(16, application.getId());
+    }
+
+    private static JobApplication read(ResultSet resultSet) throws SQLException {
+        JobApplication application = new JobApplication();
+        application.setId(resultSet.getLong("id"));
+        application.setCompanyName(resultSet.getString("company_name"));
+        application.setPosition(resultSet.getString("position"));
+        application.setJobUrl(resultSet.getString("job_url"));
+        application.setJobWebsite(resultSet.getString("job_website"));
+        application.setJobUrlKey(resultSet.getString("job_url_key"));
+        application.setDuplicateOf(resultSet.getObject("duplicate_of", Long.class));
+        application.setStatus(ApplicationStatus.valueOf(resultSet.getString("status")));
+        application.setAppliedTime(resultSet.getObject("applied_time", LocalDateTime.class));
+        application.setAppliedDate(resultSet.getObject("applied_date", LocalDateTime.class));
+        application.setNotes(resultSet.getString("notes"));
+        application.setLocation(resultSet.getString("location"));
+        application.setSalary(resultSet.getString("salary"));
+        application.setContactPerson(resultSet.getString("contact_person"));
+        application.setContactEmail(resultSet.getString("contact_email"));
+        application.setVersion(resultSet.getLong("version"));
+        return application;
+    }
+}
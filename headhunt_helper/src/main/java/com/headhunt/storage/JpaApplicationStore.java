@@ -0,0 +1,124 @@
+package com.headhunt.storage;
+
+import com.headhunt.dto.ApplicationSummary;
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+import com.headhunt.repository.JobApplicationRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/** Every read and write is a query against the database through {@link JobApplicationRepository}. */
+@Component
+@ConditionalOnProperty(name = "headhunt.storage.mode", havingValue = "database", matchIfMissing = true)
+public class JpaApplicationStore implements ApplicationStore {
+    private final JobApplicationRepository repository;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public JpaApplicationStore(JobApplicationRepository repository, EntityManager entityManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<JobApplication> findAll() {
+        return repository.findAll();
+    }
+
+    @Override
+    public Optional<JobApplication> findById(Long id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public Optional<JobApplication> findByJobUrlKey(String jobUrlKey) {
+        return repository.findByJobUrlKey(jobUrlKey);
+    }
+
+    @Override
+    public List<JobApplication> findByStatus(ApplicationStatus status) {
+        return repository.findByStatus(status);
+    }
+
+    @Override
+    public List<JobApplication> findPageAfterId(Long afterId, int limit) {
+        return afterId == null
+            ? repository.findAllByOrderByIdAsc(PageRequest.of(0, limit))
+            : repository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<JobApplication> findPageAppliedBefore(LocalDateTime appliedTime, Long id, int limit) {
+        return appliedTime == null
+            ? repository.findAllByOrderByAppliedTimeDescIdDesc(PageRequest.of(0, limit))
+            : repository.findPageAppliedBefore(appliedTime, id, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<ApplicationSummary> findAllSummaries() {
+        return repository.findAllSummaries();
+    }
+
+    @Override
+    public List<ApplicationSummary> findSummariesByStatus(ApplicationStatus status) {
+        return repository.findSummariesByStatus(status);
+    }
+
+    @Override
+    public List<ApplicationSummary> findSummaryPageAfterId(Long afterId, int limit) {
+        return repository.findSummaryPageAfterId(afterId == null ? 0L : afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<ApplicationSummary> findSummaryPageAppliedBefore(LocalDateTime appliedTime, Long id, int limit) {
+        return appliedTime == null
+            ? repository.findSummaryPageByAppliedTime(PageRequest.of(0, limit))
+            : repository.findSummaryPageAppliedBefore(appliedTime, id, PageRequest.of(0, limit));
+    }
+
+    /** Reads through a database cursor, detaching each row once consumed so the persistence context never grows. */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(ApplicationStatus status, LocalDateTime appliedFrom, LocalDateTime appliedBefore,
+                        Consumer<JobApplication> consumer) {
+        boolean unfiltered = status == null && appliedFrom == null && appliedBefore == null;
+        try (Stream<JobApplication> applications = unfiltered
+                ? repository.streamAll()
+                : repository.streamFiltered(status, appliedFrom, appliedBefore)) {
+            applications.forEach(application -> {
+                consumer.accept(application);
+                entityManager.detach(application);
+            });
+        }
+    }
+
+    @Override
+    public JobApplication save(JobApplication application) {
+        return repository.save(application);
+    }
+
+    @Override
+    public List<JobApplication> saveAll(List<JobApplication> applications) {
+        return repository.saveAll(applications);
+    }
+
+    @Override
+    public JobApplication saveAndFlush(JobApplication application) {
+        return repository.saveAndFlush(application);
+    }
+
+    @Override
+    public void delete(JobApplication application) {
+        repository.delete(application);
+    }
+}
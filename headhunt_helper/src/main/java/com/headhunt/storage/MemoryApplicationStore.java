@@ -0,0 +1,484 @@
+package com.headhunt.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.headhunt.dto.ApplicationSummary;
+import com.headhunt.model.ApplicationStatus;
+import com.headhunt.model.JobApplication;
+import com.headhunt.search.SearchIndex;
+import com.headhunt.util.UrlNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Column;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Serves every read from memory and copies writes to the database in the background.
+ *
+ * <p>Applications are held in an id-ordered map with secondary indexes by applied time, by
+ * status and by job URL key; company and position lookups go through {@link SearchIndex}, which
+ * is already in memory. Reads take no lock. Writes are serialized, validated against the
+ * entity's column constraints, appended to an {@link ApplicationJournal} and only then made
+ * visible. A background thread writes the changed rows to {@code job_applications} in batches
+ * and trims the journal to what is still pending; at startup the table is loaded and the
+ * journal replayed over it, so writes acknowledged before a crash are not lost.
+ *
+ * <p>Assumes it is the only writer of the table: nothing written to the database by another
+ * process is seen until the next restart.
+ */
+@Component
+@ConditionalOnProperty(name = "headhunt.storage.mode", havingValue = "memory")
+public class MemoryApplicationStore implements ApplicationStore {
+    private static final Logger logger = LoggerFactory.getLogger(MemoryApplicationStore.class);
+
+    private static final Comparator<TimeKey> NEWEST_FIRST =
+        Comparator.comparing(TimeKey::appliedTime).thenComparing(TimeKey::id).reversed();
+    private static final List<ColumnRule> COLUMN_RULES = columnRules();
+
+    private final ApplicationTableWriter tableWriter;
+    private final ObjectProvider<SearchIndex> searchIndex;
+    private final ApplicationJournal journal;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final ConcurrentSkipListMap<Long, JobApplication> byId = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<TimeKey> byAppliedTime = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<ApplicationStatus, ConcurrentSkipListSet<TimeKey>> byStatus = new EnumMap<>(ApplicationStatus.class);
+    private final ConcurrentHashMap<String, Long> idsByUrlKey = new ConcurrentHashMap<>();
+    // Ids whose current state (or absence) has not reached the database yet
+    private final ConcurrentHashMap<Long, Pending> dirty = new ConcurrentHashMap<>();
+    // Guarded by "this"
+    private long nextId = 1;
+    private long nextSequence = 0;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "storage-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer flushTimer;
+    private final Counter flushFailures;
+
+    @Autowired
+    public MemoryApplicationStore(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  ObjectProvider<SearchIndex> searchIndex,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${headhunt.storage.journal-path:data/applications.journal}") String journalPath,
+                                  @Value("${headhunt.storage.journal-fsync:true}") boolean journalFsync,
+                                  @Value("${headhunt.storage.batch-size:500}") int batchSize,
+                                  @Value("${headhunt.storage.flush-interval-ms:500}") long flushIntervalMs)
+            throws IOException {
+        this.tableWriter = new ApplicationTableWriter(jdbcTemplate, new TransactionTemplate(transactionManager));
+        this.searchIndex = searchIndex;
+        this.journal = new ApplicationJournal(Paths.get(journalPath), objectMapper, journalFsync);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        }
+
+        Gauge.builder("headhunt.storage.write-behind.pending", dirty, Map::size)
+            .description("Applications changed in memory but not yet written to the database")
+            .register(meterRegistry);
+        TimeGauge.builder("headhunt.storage.write-behind.lag", this, TimeUnit.NANOSECONDS,
+                MemoryApplicationStore::currentLagNanos)
+            .description("Age of the oldest change not yet written to the database")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("headhunt.storage.write-behind.flush").register(meterRegistry);
+        this.flushFailures = Counter.builder("headhunt.storage.write-behind.failures")
+            .description("Write-behind batches that failed and will be retried")
+            .register(meterRegistry);
+
+        load();
+        executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JobApplication> findAll() {
+        return copies(byId.values());
+    }
+
+    @Override
+    public Optional<JobApplication> findById(Long id) {
+        return Optional.ofNullable(byId.get(id)).map(JobApplication::copy);
+    }
+
+    @Override
+    public Optional<JobApplication> findByJobUrlKey(String jobUrlKey) {
+        Long id = idsByUrlKey.get(jobUrlKey);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public List<JobApplication> findByStatus(ApplicationStatus status) {
+        return resolve(byStatus.get(status), Integer.MAX_VALUE, JobApplication::copy);
+    }
+
+    @Override
+    public List<JobApplication> findPageAfterId(Long afterId, int limit) {
+        return copies(afterId == null ? byId.values() : byId.tailMap(afterId, false).values(), limit);
+    }
+
+    @Override
+    public List<JobApplication> findPageAppliedBefore(LocalDateTime appliedTime, Long id, int limit) {
+        return resolve(appliedBefore(appliedTime, id), limit, JobApplication::copy);
+    }
+
+    @Override
+    public List<ApplicationSummary> findAllSummaries() {
+        return byId.values().stream().map(ApplicationSummary::of).toList();
+    }
+
+    @Override
+    public List<ApplicationSummary> findSummariesByStatus(ApplicationStatus status) {
+        return resolve(byStatus.get(status), Integer.MAX_VALUE, ApplicationSummary::of);
+    }
+
+    @Override
+    public List<ApplicationSummary> findSummaryPageAfterId(Long afterId, int limit) {
+        Collection<JobApplication> values = afterId == null ? byId.values() : byId.tailMap(afterId, false).values();
+        return values.stream().limit(limit).map(ApplicationSummary::of).toList();
+    }
+
+    @Override
+    public List<ApplicationSummary> findSummaryPageAppliedBefore(LocalDateTime appliedTime, Long id, int limit) {
+        return resolve(appliedBefore(appliedTime, id), limit, ApplicationSummary::of);
+    }
+
+    @Override
+    public void forEach(ApplicationStatus status, LocalDateTime appliedFrom, LocalDateTime appliedBefore,
+                        Consumer<JobApplication> consumer) {
+        for (JobApplication application : byId.values()) {
+            if ((status == null || status == application.getStatus())
+                    && (appliedFrom == null || !application.getAppliedTime().isBefore(appliedFrom))
+                    && (appliedBefore == null || application.getAppliedTime().isBefore(appliedBefore))) {
+                consumer.accept(application.copy());
+            }
+        }
+    }
+
+    @Override
+    public JobApplication save(JobApplication application) {
+        return saveAll(List.of(application)).get(0);
+    }
+
+    /**
+     * Inserts get the next id, the current time as {@code appliedTime} and version 0; updates
+     * bump the version only if a value changed, as Hibernate's dirty checking does.
+     */
+    @Override
+    public synchronized List<JobApplication> saveAll(List<JobApplication> applications) {
+        List<JobApplication> results = new ArrayList<>(applications.size());
+        List<JobApplication> changed = new ArrayList<>(applications.size());
+        Map<String, Long> claimedUrlKeys = new HashMap<>();
+        long id = nextId;
+        LocalDateTime now = LocalDateTime.now();
+        for (JobApplication application : applications) {
+            JobApplication candidate = application.copy();
+            candidate.setJobUrlKey(UrlNormalizer.key(candidate.getJobUrl()));
+            if (candidate.getId() == null) {
+                candidate.setId(id++);
+                candidate.setAppliedTime(now);
+                candidate.setVersion(0L);
+            } else {
+                JobApplication stored = byId.get(candidate.getId());
+                if (stored == null || (candidate.getVersion() != null
+                        && !candidate.getVersion().equals(stored.getVersion()))) {
+                    throw new ObjectOptimisticLockingFailureException(JobApplication.class, candidate.getId());
+                }
+                candidate.setVersion(stored.getVersion());
+                if (candidate.equals(stored)) {
+                    results.add(stored.copy());
+                    continue;
+                }
+                candidate.setVersion(stored.getVersion() + 1);
+            }
+            validate(candidate);
+            String urlKey = candidate.getJobUrlKey();
+            if (urlKey != null) {
+                Long owner = claimedUrlKeys.containsKey(urlKey) ? claimedUrlKeys.get(urlKey) : idsByUrlKey.get(urlKey);
+                if (owner != null && !owner.equals(candidate.getId())) {
+                    throw new DataIntegrityViolationException("Duplicate job URL, already stored as application " + owner);
+                }
+                claimedUrlKeys.put(urlKey, candidate.getId());
+            }
+            changed.add(candidate);
+            results.add(candidate.copy());
+        }
+        if (changed.isEmpty()) {
+            return results;
+        }
+
+        appendToJournal(changed.stream().map(candidate -> new ApplicationJournal.Entry(candidate.getId(), candidate)).toList());
+        nextId = id;
+        for (JobApplication candidate : changed) {
+            put(candidate);
+            markDirty(candidate.getId());
+            searchIndex.getObject().index(candidate);
+        }
+        return results;
+    }
+
+    @Override
+    public JobApplication saveAndFlush(JobApplication application) {
+        return save(application);
+    }
+
+    @Override
+    public synchronized void delete(JobApplication application) {
+        Long id = application.getId();
+        if (id == null || !byId.containsKey(id)) {
+            return;
+        }
+        appendToJournal(List.of(new ApplicationJournal.Entry(id, null)));
+        remove(id);
+        markDirty(id);
+        searchIndex.getObject().remove(id);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+        if (!dirty.isEmpty()) {
+            logger.warn("{} application changes not written to the database; they stay in {} for the next start",
+                dirty.size(), journal.path());
+        }
+        journal.close();
+    }
+
+    private void load() throws IOException {
+        long start = System.nanoTime();
+        List<JobApplication> applications = tableWriter.loadAll();
+        applications.forEach(this::put);
+        List<ApplicationJournal.Entry> entries = journal.read();
+        synchronized (this) {
+            for (ApplicationJournal.Entry entry : entries) {
+                if (entry.application() == null) {
+                    remove(entry.id());
+                } else {
+                    // The key is not serialized; it is derived from the URL on every write anyway
+                    entry.application().setJobUrlKey(UrlNormalizer.key(entry.application().getJobUrl()));
+                    put(entry.application());
+                }
+                markDirty(entry.id());
+            }
+            nextId = byId.isEmpty() ? 1 : byId.lastKey() + 1;
+        }
+        logger.info("Loaded {} applications from the database and replayed {} journal entries from {} in {} ms",
+            applications.size(), entries.size(), journal.path(), (System.nanoTime() - start) / 1_000_000);
+        flushSafely();
+    }
+
+    private void put(JobApplication application) {
+        JobApplication previous = byId.put(application.getId(), application);
+        if (previous != null) {
+            unindex(previous);
+        }
+        TimeKey key = TimeKey.of(application);
+        byAppliedTime.add(key);
+        byStatus.get(application.getStatus()).add(key);
+        if (application.getJobUrlKey() != null) {
+            idsByUrlKey.put(application.getJobUrlKey(), application.getId());
+        }
+    }
+
+    private void remove(Long id) {
+        JobApplication previous = byId.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void unindex(JobApplication application) {
+        TimeKey key = TimeKey.of(application);
+        byAppliedTime.remove(key);
+        byStatus.get(application.getStatus()).remove(key);
+        if (application.getJobUrlKey() != null) {
+            idsByUrlKey.remove(application.getJobUrlKey(), application.getId());
+        }
+    }
+
+    // Caller holds the lock; keeps the time of the oldest change not yet written for the lag gauge
+    private void markDirty(Long id) {
+        Pending pending = new Pending(nextSequence++, System.nanoTime());
+        dirty.merge(id, pending, (previous, next) -> new Pending(next.sequence(), previous.sinceNanos()));
+    }
+
+    private void appendToJournal(List<ApplicationJournal.Entry> entries) {
+        try {
+            journal.append(entries);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write to the storage journal", e);
+        }
+    }
+
+    private double currentLagNanos() {
+        long now = System.nanoTime();
+        return dirty.values().stream().mapToLong(pending -> now - pending.sinceNanos()).max().orElse(0);
+    }
+
+    private void flushSafely() {
+        try {
+            while (flush()) {
+                // Keep going while a full batch was written
+            }
+        } catch (Exception e) {
+            flushFailures.increment();
+            logger.error("Writing {} application changes to the database failed, retrying in {} ms",
+                dirty.size(), flushIntervalMs, e);
+        }
+    }
+
+    /** Writes one batch of pending changes; returns whether another batch may be waiting. */
+    private boolean flush() throws IOException {
+        Map<Long, Pending> batch = new HashMap<>();
+        List<JobApplication> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Long, Pending> entry : dirty.entrySet()) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.put(entry.getKey(), entry.getValue());
+                JobApplication application = byId.get(entry.getKey());
+                if (application == null) {
+                    deletes.add(entry.getKey());
+                } else {
+                    upserts.add(application);
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        flushTimer.record(() -> tableWriter.write(upserts, deletes));
+        synchronized (this) {
+            // An id written to again since the snapshot stays pending
+            batch.forEach(dirty::remove);
+            List<ApplicationJournal.Entry> stillPending = new ArrayList<>(dirty.size());
+            dirty.keySet().forEach(id -> stillPending.add(new ApplicationJournal.Entry(id, byId.get(id))));
+            journal.rewrite(stillPending);
+        }
+        logger.debug("Wrote {} upserts and {} deletes to the database", upserts.size(), deletes.size());
+        return batch.size() == batchSize;
+    }
+
+    private NavigableSet<TimeKey> appliedBefore(LocalDateTime appliedTime, Long id) {
+        return appliedTime == null ? byAppliedTime : byAppliedTime.tailSet(new TimeKey(appliedTime, id), false);
+    }
+
+    /**
+     * Maps the applications behind the keys in key order. A write running concurrently can
+     * leave a key briefly pointing at a newer state; such keys are skipped.
+     */
+    private <T> List<T> resolve(NavigableSet<TimeKey> keys, int limit, Function<JobApplication, T> mapper) {
+        List<T> results = new ArrayList<>();
+        for (TimeKey key : keys) {
+            if (results.size() == limit) {
+                break;
+            }
+            JobApplication application = byId.get(key.id());
+            if (application != null && key.appliedTime().equals(application.getAppliedTime())) {
+                results.add(mapper.apply(application));
+            }
+        }
+        return results;
+    }
+
+    private static List<JobApplication> copies(Collection<JobApplication> applications) {
+        return copies(applications, Integer.MAX_VALUE);
+    }
+
+    private static List<JobApplication> copies(Collection<JobApplication> applications, int limit) {
+        return applications.stream().limit(limit).map(JobApplication::copy).toList();
+    }
+
+    /** Enforces the nullability and length of every {@link Column} the way the table would. */
+    private static void validate(JobApplication application) {
+        for (ColumnRule rule : COLUMN_RULES) {
+            Object value;
+            try {
+                value = rule.field().get(application);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            if (value == null && !rule.nullable()) {
+                throw new DataIntegrityViolationException("Column " + rule.field().getName() + " cannot be null");
+            }
+            if (value instanceof String text && text.length() > rule.length()) {
+                throw new DataIntegrityViolationException("Value too long for column " + rule.field().getName() +
+                                                          " (" + text.length() + " > " + rule.length() + ")");
+            }
+        }
+    }
+
+    private static List<ColumnRule> columnRules() {
+        List<ColumnRule> rules = new ArrayList<>();
+        for (Field field : JobApplication.class.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null) {
+                field.setAccessible(true);
+                rules.add(new ColumnRule(field, column.nullable(), column.length()));
+            }
+        }
+        return rules;
+    }
+
+    private record TimeKey(LocalDateTime appliedTime, Long id) {
+        static TimeKey of(JobApplication application) {
+            return new TimeKey(application.getAppliedTime(), application.getId());
+        }
+    }
+
+    // The sequence makes every write distinct, so a flush only clears the exact state it wrote
+    private record Pending(long sequence, long sinceNanos) {
+    }
+
+    private record ColumnRule(Field field, boolean nullable, int length) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.headhunt.util;
+
+import com.headhunt.model.JobApplication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 4180 formatting of job applications, shared by the CSV file export and the
+ * {@code /export} endpoint. Rows are appended field by field to the target; each value is
+ * scanned once to decide whether it needs quoting and is then copied, doubling embedded quotes.
+ */
+public final class CsvFormat {
+    public static final String HEADER = "ID,Company Name,Position,Job URL,Job Website,Status,Applied Time,Location,Salary,Contact Person,Contact Email,Notes\n";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private CsvFormat() {
+    }
+
+    public static void appendRow(Appendable out, JobApplication app) throws IOException {
+        if (app.getId() != null) {
+            out.append(app.getId().toString());
+        }
+        out.append(',');
+        appendField(out, app.getCompanyName());
+        out.append(',');
+        appendField(out, app.getPosition());
+        out.append(',');
+        appendField(out, app.getJobUrl());
+        out.append(',');
+        appendField(out, app.getJobWebsite());
+        out.append(',');
+        if (app.getStatus() != null) {
+            out.append(app.getStatus().name());
+        }
+        out.append(',');
+        if (app.getAppliedTime() != null) {
+            DATE_FORMATTER.formatTo(app.getAppliedTime(), out);
+        }
+        out.append(',');
+        appendField(out, app.getLocation());
+        out.append(',');
+        appendField(out, app.getSalary());
+        out.append(',');
+        appendField(out, app.getContactPerson());
+        out.append(',');
+        appendField(out, app.getContactEmail());
+        out.append(',');
+        appendField(out, app.getNotes());
+        out.append('\n');
+    }
+
+    public static String formatRow(JobApplication app) {
+        StringBuilder row = new StringBuilder(256);
+        try {
+            appendRow(row, app);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return row.toString();
+    }
+
+    static void appendField(Appendable out, String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        if (!needsQuoting(field)) {
+            out.append(field);
+            return;
+        }
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) == '"') {
+                out.append(field, start, i + 1).append('"');
+                start = i + 1;
+            }
+        }
+        out.append(field, start, field.length()).append('"');
+    }
+
+    private static boolean needsQuoting(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
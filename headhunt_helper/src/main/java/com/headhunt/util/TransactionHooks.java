@@ -0,0 +1,27 @@
+package com.headhunt.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write until its transaction commits, so a rollback never
+ * leaves them behind.
+ */
+public final class TransactionHooks {
+    private TransactionHooks() {
+    }
+
+    /** Runs the action after the current transaction commits, or immediately when there is none. */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
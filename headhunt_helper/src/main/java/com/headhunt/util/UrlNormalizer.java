@@ -0,0 +1,116 @@
+package com.headhunt.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Canonical form of job posting URLs, so the same posting captured from different referrers
+ * compares equal: scheme and host are lower-cased, default ports, fragments, trailing slashes
+ * and tracking parameters are dropped and the remaining query parameters are sorted.
+ */
+public final class UrlNormalizer {
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+        "gclid", "fbclid", "msclkid", "mc_cid", "mc_eid", "ref", "refid", "referrer", "src", "source",
+        "trk", "trackingid", "lipi", "iis", "iisn", "gh_src", "lever-source", "lever-origin", "_ga"
+    );
+
+    private UrlNormalizer() {
+    }
+
+    /** Lower-cased host of an absolute http(s) URL, or {@code null}. */
+    public static String host(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+            if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+                return null;
+            }
+            return uri.getHost().toLowerCase(Locale.ROOT);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the normalized URL, or {@code null} if the value is not an absolute http(s) URL
+     * (the extractor stores "Unknown" when it finds none).
+     */
+    public static String normalize(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = new URI(url.trim());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+            return null;
+        }
+
+        StringBuilder normalized = new StringBuilder(url.length());
+        normalized.append(scheme).append("://").append(uri.getHost().toLowerCase(Locale.ROOT));
+        int port = uri.getPort();
+        if (port != -1 && !(port == 80 && "http".equals(scheme)) && !(port == 443 && "https".equals(scheme))) {
+            normalized.append(':').append(port);
+        }
+
+        String path = uri.getRawPath();
+        if (path != null) {
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            normalized.append(path);
+        }
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> kept = new ArrayList<>();
+            for (String parameter : query.split("&")) {
+                if (parameter.isEmpty()) {
+                    continue;
+                }
+                int equals = parameter.indexOf('=');
+                String name = (equals < 0 ? parameter : parameter.substring(0, equals)).toLowerCase(Locale.ROOT);
+                if (!name.startsWith("utm_") && !TRACKING_PARAMETERS.contains(name)) {
+                    kept.add(parameter);
+                }
+            }
+            if (!kept.isEmpty()) {
+                kept.sort(null);
+                normalized.append('?').append(String.join("&", kept));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * SHA-256 hex of the normalized URL, or {@code null} when the URL does not normalize. Used
+     * as the unique key for job URLs: normalized URLs can exceed MySQL's index key length.
+     */
+    public static String key(String url) {
+        String normalized = normalize(url);
+        if (normalized == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- Schema as created by Hibernate (ddl-auto) before migrations were introduced. Existing
+-- databases are baselined at this version and skip it.
+CREATE TABLE job_applications (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    company_name   VARCHAR(255)  NOT NULL,
+    position       VARCHAR(255)  NOT NULL,
+    job_url        VARCHAR(1000) NOT NULL,
+    job_website    VARCHAR(1000),
+    status         ENUM ('APPLIED', 'INTERVIEWING', 'OFFER_RECEIVED', 'REJECTED', 'ACCEPTED', 'WITHDRAWN') NOT NULL,
+    applied_time   DATETIME(6)   NOT NULL,
+    applied_date   DATETIME(6),
+    notes          VARCHAR(4000),
+    location       VARCHAR(255),
+    salary         VARCHAR(255),
+    contact_person VARCHAR(255),
+    contact_email  VARCHAR(255),
+    PRIMARY KEY (id)
+);
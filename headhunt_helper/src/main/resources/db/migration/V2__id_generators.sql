@@ -0,0 +1,13 @@
+-- Table-backed id allocation (lets Hibernate batch inserts). The generator starts past the
+-- highest existing id plus a full allocation block, so the pooled optimizer cannot reach back
+-- into ids handed out by AUTO_INCREMENT.
+CREATE TABLE IF NOT EXISTS id_generators (
+    generator_name VARCHAR(255) NOT NULL,
+    next_val       BIGINT,
+    PRIMARY KEY (generator_name)
+);
+
+INSERT INTO id_generators (generator_name, next_val)
+SELECT 'job_applications', COALESCE(MAX(id), 0) + 51
+FROM job_applications
+WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE generator_name = 'job_applications');
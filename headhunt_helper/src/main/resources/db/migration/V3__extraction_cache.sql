@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS extraction_cache (
+    cache_key      VARCHAR(64) NOT NULL,
+    fields_json    TEXT        NOT NULL,
+    application_id BIGINT,
+    created_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (cache_key)
+);
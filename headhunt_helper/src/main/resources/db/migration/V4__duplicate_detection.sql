@@ -0,0 +1,5 @@
+-- job_url_key is the SHA-256 of the normalized job_url; rows saved before this version are
+-- backfilled by POST /api/applications/dedupe?dryRun=false.
+ALTER TABLE job_applications ADD COLUMN job_url_key VARCHAR(64);
+ALTER TABLE job_applications ADD COLUMN duplicate_of BIGINT;
+CREATE UNIQUE INDEX ux_job_applications_job_url_key ON job_applications (job_url_key);
@@ -0,0 +1,5 @@
+-- status lists and the export's status filter; appliedTime lets them return rows in date order
+CREATE INDEX idx_job_applications_status_applied ON job_applications (status, applied_time);
+-- keyset pages sorted by appliedTime (newest first, id breaks ties)
+CREATE INDEX idx_job_applications_applied_time ON job_applications (applied_time, id);
+CREATE INDEX idx_job_applications_company_name ON job_applications (company_name);
@@ -0,0 +1,2 @@
+-- Optimistic lock for concurrent edits: every UPDATE checks and increments it
+ALTER TABLE job_applications ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- the scheduled purge deletes extraction cache entries older than the TTL
+CREATE INDEX idx_extraction_cache_created_at ON extraction_cache (created_at);
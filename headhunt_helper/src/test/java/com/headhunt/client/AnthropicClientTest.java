@@ -0,0 +1,239 @@
+package com.headhunt.client;
+
+import com.headhunt.extraction.ExtractionMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AnthropicClient} against an in-JVM HTTP stub that answers with scripted statuses,
+ * headers and delays, and with a successful reply once the script runs out.
+ */
+class AnthropicClientTest {
+    private static final String REPLY = """
+        {"content": [{"type": "text", "text": "stub reply"}], "usage": {"input_tokens": 3, "output_tokens": 2}}
+        """;
+
+    private final Queue<Response> script = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/messages", this::respond);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/messages";
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {408, 429, 500, 502, 503, 504, 529})
+    void retriesRetryableStatuses(int status) {
+        script.add(Response.status(status));
+        script.add(Response.status(status));
+
+        assertEquals("stub reply", client(Settings.defaults()).complete("prompt", false));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        script.add(Response.status(400));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> client(Settings.defaults()).complete("prompt", false));
+        assertFalse(e instanceof UpstreamUnavailableException);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void retriesTimedOutReads() {
+        script.add(Response.status(200).delayedBy(Duration.ofMillis(500)));
+
+        Settings settings = Settings.defaults();
+        settings.readTimeoutMillis = 100;
+        assertEquals("stub reply", client(settings).complete("prompt", false));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void honoursRetryAfter() {
+        script.add(Response.status(429).withHeader("retry-after", "1"));
+
+        Settings settings = Settings.defaults();
+        settings.maxBackoffMillis = 2000;
+        long start = System.nanoTime();
+        assertEquals("stub reply", client(settings).complete("prompt", false));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(2, requests.get());
+        assertTrue(elapsedMillis >= 1000, "retried after " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void retryAfterBeyondMaxBackoffSurfacesAsUnavailable() {
+        script.add(Response.status(529).withHeader("retry-after", "30"));
+
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+            () -> client(Settings.defaults()).complete("prompt", false));
+        assertEquals(Duration.ofSeconds(30), e.getRetryAfter());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void exhaustedRetriesSurfaceAsUnavailable() {
+        for (int i = 0; i < 3; i++) {
+            script.add(Response.status(503));
+        }
+
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+            () -> client(Settings.defaults()).complete("prompt", false));
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(1)) >= 0);
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void openCircuitFailsFastAndClosesAfterASuccessfulTrial() throws InterruptedException {
+        Settings settings = Settings.defaults();
+        settings.maxRetries = 0;
+        settings.failureThreshold = 2;
+        settings.openSeconds = 1;
+        AnthropicClient client = client(settings);
+        script.add(Response.status(500));
+        script.add(Response.status(500));
+        assertThrows(UpstreamUnavailableException.class, () -> client.complete("prompt", false));
+        assertThrows(UpstreamUnavailableException.class, () -> client.complete("prompt", false));
+
+        UpstreamUnavailableException open = assertThrows(UpstreamUnavailableException.class,
+            () -> client.complete("prompt", false));
+        assertTrue(open.getMessage().contains("circuit is open"), open.getMessage());
+        assertEquals(2, requests.get(), "an open circuit must not reach upstream");
+
+        Thread.sleep(1100);
+        assertEquals("stub reply", client.complete("prompt", false));
+        assertEquals("stub reply", client.complete("prompt", false));
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    void callsBeyondTheInputTokenLimitAreThrottled() {
+        Settings settings = Settings.defaults();
+        // 100 tokens per second; a prompt is estimated at one token per four characters
+        settings.inputTokensPerMinute = 6000;
+        settings.maxThrottleMillis = 5000;
+        AnthropicClient client = client(settings);
+        client.complete("x".repeat(6000 * 4), false);
+
+        long start = System.nanoTime();
+        client.complete("x".repeat(100 * 4), false);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis >= 800, "throttled for " + elapsedMillis + " ms");
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void throttleLongerThanTheLimitSurfacesAsUnavailable() {
+        Settings settings = Settings.defaults();
+        settings.requestsPerMinute = 1;
+        settings.maxThrottleMillis = 100;
+        AnthropicClient client = client(settings);
+        client.complete("prompt", false);
+
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+            () -> client.complete("prompt", false));
+        assertTrue(e.getMessage().contains("rate limit"), e.getMessage());
+        assertEquals(1, requests.get());
+    }
+
+    private AnthropicClient client(Settings settings) {
+        return new AnthropicClient(new ExtractionMetrics(new SimpleMeterRegistry(), 0), url, "test-key", "test-model",
+            1000, settings.readTimeoutMillis, settings.requestsPerMinute, settings.inputTokensPerMinute,
+            settings.maxThrottleMillis, settings.maxRetries, 10, settings.maxBackoffMillis, settings.failureThreshold,
+            settings.openSeconds);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        Response response = script.poll();
+        if (response == null) {
+            response = Response.status(200);
+        }
+        try {
+            Thread.sleep(response.delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = (response.status == 200 ? REPLY : "{\"type\": \"error\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("content-type", "application/json");
+        response.headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(response.status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            // The client gave up on a delayed response
+        }
+    }
+
+    private record Response(int status, Map<String, String> headers, Duration delay) {
+        static Response status(int status) {
+            return new Response(status, Map.of(), Duration.ZERO);
+        }
+
+        Response withHeader(String name, String value) {
+            return new Response(status, Map.of(name, value), delay);
+        }
+
+        Response delayedBy(Duration delay) {
+            return new Response(status, headers, delay);
+        }
+    }
+
+    /** Client settings the tests vary; the defaults retry quickly and never throttle. */
+    private static final class Settings {
+        long readTimeoutMillis = 5000;
+        long requestsPerMinute = 0;
+        long inputTokensPerMinute = 0;
+        long maxThrottleMillis = 1000;
+        int maxRetries = 2;
+        long maxBackoffMillis = 100;
+        int failureThreshold = 100;
+        long openSeconds = 30;
+
+        static Settings defaults() {
+            return new Settings();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.headhunt.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    @Test
+    void startsFull() {
+        TokenBucket bucket = new TokenBucket(5, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.reserve(1, NO_LIMIT));
+        }
+    }
+
+    @Test
+    void emptyBucketMakesCallersWaitInArrivalOrder() {
+        // One token every 100 ms
+        TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(1));
+        bucket.reserve(10, NO_LIMIT);
+
+        long first = bucket.reserve(1, NO_LIMIT);
+        long second = bucket.reserve(1, NO_LIMIT);
+        assertBetween(first, 80, 100);
+        assertBetween(second, 180, 200);
+    }
+
+    @Test
+    void refusesWithoutTakingWhenTheWaitIsTooLong() {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(1));
+        bucket.reserve(10, NO_LIMIT);
+
+        assertEquals(-1, bucket.reserve(1, TimeUnit.MILLISECONDS.toNanos(10)));
+        // The refused reservation took nothing, so the next caller is still first in line
+        assertBetween(bucket.reserve(1, NO_LIMIT), 80, 100);
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(1));
+        bucket.reserve(10, NO_LIMIT);
+        Thread.sleep(250);
+
+        assertEquals(0, bucket.reserve(2, NO_LIMIT));
+    }
+
+    @Test
+    void requestsLargerThanTheBucketTakeAFullBucket() {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(1));
+        assertEquals(0, bucket.reserve(50, NO_LIMIT));
+        assertBetween(bucket.reserve(10, NO_LIMIT), 900, 1000);
+    }
+
+    private static void assertBetween(long nanos, long minMillis, long maxMillis) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        assertTrue(millis >= minMillis && millis <= maxMillis,
+            "expected a wait of " + minMillis + "-" + maxMillis + " ms, got " + millis + " ms");
+    }
+}
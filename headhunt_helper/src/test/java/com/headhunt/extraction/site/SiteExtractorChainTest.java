@@ -0,0 +1,66 @@
+package com.headhunt.extraction.site;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.headhunt.extraction.ExtractionMetrics;
+import com.headhunt.extraction.HtmlTextExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the structured-data extractors over the fixture pages in {@code src/test/resources/sites}
+ * and compares the result with {@code expected.json}: the extractor and fields for pages that
+ * skip the model, {@code null} for pages that must fall back to it. Add a page and its expected
+ * fields there when adding or changing an extractor.
+ */
+class SiteExtractorChainTest {
+    private static final String FIXTURES = "/sites/";
+
+    private final SiteExtractorChain chain = new SiteExtractorChain(
+        List.of(new JsonLdExtractor(), new OpenGraphExtractor()), new ExtractionMetrics(new SimpleMeterRegistry(), 0),
+        true);
+
+    static List<Arguments> fixtures() throws IOException {
+        JsonNode expected = new ObjectMapper().readTree(load("expected.json"));
+        List<Arguments> fixtures = new ArrayList<>();
+        expected.fields().forEachRemaining(fixture -> fixtures.add(Arguments.of(fixture.getKey(), fixture.getValue())));
+        return fixtures;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("fixtures")
+    void extractsExpectedFields(String page, JsonNode expected) throws IOException {
+        String html = load(page);
+        Optional<SiteExtractorChain.SiteExtraction> actual =
+            chain.extract(html, HtmlTextExtractor.extract(html, 1).sourceUrl());
+
+        if (expected.isNull()) {
+            assertTrue(actual.isEmpty(), () -> "expected a model fallback, got " + actual.get());
+            return;
+        }
+        assertTrue(actual.isPresent(), "expected " + expected + ", got a model fallback");
+        assertEquals(expected.get("extractedBy").asText(), actual.get().extractedBy());
+        expected.get("fields").fields().forEachRemaining(field ->
+            assertEquals(field.getValue().asText(), actual.get().fields().get(field.getKey()), field.getKey()));
+    }
+
+    private static String load(String name) throws IOException {
+        try (InputStream in = SiteExtractorChainTest.class.getResourceAsStream(FIXTURES + name)) {
+            assertNotNull(in, "no fixture named " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.headhunt.service;
+
+import com.headhunt.client.AnthropicClient;
+import com.headhunt.extraction.ExtractionCache;
+import com.headhunt.extraction.ExtractionMetrics;
+import com.headhunt.extraction.TextBlockSelector;
+import com.headhunt.extraction.site.JsonLdExtractor;
+import com.headhunt.extraction.site.OpenGraphExtractor;
+import com.headhunt.extraction.site.SiteExtractorChain;
+import com.headhunt.model.JobApplication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link JobExtractorService#extractJob} on many threads at once, with the model replaced by a
+ * stub that answers from the prompt. Every page carries its own {@code EXTRACTED_URL} marker and
+ * company, so state leaking between concurrent extractions shows up as another page's fields.
+ */
+class JobExtractorServiceConcurrencyTest {
+    private static final Pattern COMPANY = Pattern.compile("Company-(\\d+)");
+    private static final int THREADS = 32;
+    private static final int PAGES = 5000;
+
+    @Test
+    void concurrentExtractionsKeepTheirOwnFields() throws Exception {
+        JobExtractorService extractor = newExtractor();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<JobApplication>> results = new ArrayList<>(PAGES);
+            for (int i = 0; i < PAGES; i++) {
+                long page = i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return extractor.extractJob(page(page)).getApplication();
+                }));
+            }
+            start.countDown();
+            for (int page = 0; page < PAGES; page++) {
+                JobApplication application = results.get(page).get(1, TimeUnit.MINUTES);
+                String url = "https://jobs.example.com/postings/" + page;
+                assertEquals(url, application.getJobUrl(), "job URL of page " + page);
+                assertEquals(url, application.getJobWebsite(), "job website of page " + page);
+                assertEquals("Company-" + page, application.getCompanyName(), "company of page " + page);
+                assertEquals("Position-" + page, application.getPosition(), "position of page " + page);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static JobExtractorService newExtractor() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExtractionMetrics metrics = new ExtractionMetrics(registry, 0);
+        // The cache is disabled, so extraction never needs the repository or the application service
+        ExtractionCache cache = new ExtractionCache(null, registry, false, false, 0, 0, 0);
+        SiteExtractorChain chain =
+            new SiteExtractorChain(List.of(new JsonLdExtractor(), new OpenGraphExtractor()), metrics, true);
+        return new JobExtractorService(new EchoModelClient(metrics), null, cache, new TextBlockSelector(true, 4000),
+            chain, metrics);
+    }
+
+    private static String page(long page) {
+        return """
+            <html><head><title>Position-%1$d at Company-%1$d</title></head>
+            <!-- EXTRACTED_URL: https://jobs.example.com/postings/%1$d -->
+            <body><h1>Position-%1$d</h1><p>Company-%1$d is hiring. Salary USD %1$d per year.</p></body></html>
+            """.formatted(page);
+    }
+
+    /** Answers with the company and position numbered like the first company in the prompt. */
+    private static final class EchoModelClient extends AnthropicClient {
+        EchoModelClient(ExtractionMetrics metrics) {
+            super(metrics, "http://localhost/unused", "unused", "unused", 1000, 1000, 0, 0, 0, 0, 0, 0, 1, 1);
+        }
+
+        @Override
+        public String complete(String prompt, boolean logPayload) {
+            Matcher matcher = COMPANY.matcher(prompt);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Prompt without a company: " + prompt);
+            }
+            // Widen the window in which another thread could overwrite shared state
+            Thread.yield();
+            String page = matcher.group(1);
+            return """
+                {"companyName": "Company-%1$s", "position": "Position-%1$s",
+                 "jobUrl": "https://model.example.com/%1$s", "notes": "Stub reply"}
+                """.formatted(page);
+        }
+    }
+}